@@ -0,0 +1,81 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.DistanceOracle;
+import util.Graph;
+
+/**
+ * Consultas de distancia con {@link DistanceOracle} frente a la BFS de
+ * {@link Graph#shortestPath(Object, Object)} sobre pares de vértices al azar.
+ * El tiempo de construcción y el tamaño del índice se imprimen en la preparación.
+ * Sólo se usa R-MAT: en rejillas y grafos aleatorios sin vértices dominantes las
+ * etiquetas crecen demasiado para el etiquetado con referencias.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DistanceOracleBenchmark{
+
+    @Param({"RMAT"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Graph<Integer> graph;
+    private DistanceOracle<Integer> oracle;
+    private int[] sources;
+    private int[] targets;
+    private int probe;
+
+    @Setup
+    public void setup(){
+        int[][] edges = GraphGenerators.edges(shape, size, 42);
+        graph = GraphGenerators.toGraph(edges);
+        oracle = DistanceOracle.build(graph);
+        System.out.println(oracle);
+
+        sources = new int[1024];
+        targets = new int[1024];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = edges[0][(int) ((long) i * 7919 % edges[0].length)];
+            targets[i] = edges[1][(int) ((long) i * 104729 % edges[1].length)];
+        }
+    }
+
+    @Benchmark
+    public int oracleDistance(){
+        int i = probe++ & (sources.length - 1);
+        return oracle.distance(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<Integer> oraclePath(){
+        int i = probe++ & (sources.length - 1);
+        return oracle.shortestPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Integer> bfsPath(){
+        int i = probe++ & (sources.length - 1);
+        return graph.shortestPath(sources[i], targets[i]);
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.FrozenGraph;
+import util.GraphAnalytics;
+
+/**
+ * Búsquedas en anchura desde 64 orígenes: un lote de la BFS multiorigen de
+ * {@link GraphAnalytics} frente a 64 búsquedas independientes con
+ * {@link FrozenGraph#bfsDistances(Object)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphAnalyticsBenchmark{
+
+    @Param({"RMAT", "GRID", "RANDOM"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private FrozenGraph<Integer> graph;
+    private GraphAnalytics<Integer> analytics;
+    private int[] sources;
+
+    @Setup
+    public void setup(){
+        graph = GraphGenerators.toGraph(GraphGenerators.edges(shape, size, 42)).freeze();
+        analytics = new GraphAnalytics<>(graph, ForkJoinPool.commonPool());
+        Random random = new Random(1);
+        sources = new int[64];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = graph.vertexOf(random.nextInt(graph.vertexCount()));
+        }
+    }
+
+    @Benchmark
+    public int multiSource64(){
+        return analytics.estimateDiameter(64, 1);
+    }
+
+    @Benchmark
+    public int singleSource64(){
+        int diameter = 0;
+        for (int source : sources) {
+            diameter = Math.max(diameter, graph.bfsDistances(source).depth());
+        }
+        return diameter;
+    }
+}
@@ -0,0 +1,211 @@
+package bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.BFSTree;
+import util.Graph;
+import util.GraphFormat;
+import util.PathQueryOptions;
+import util.PathResult;
+import util.Traversal;
+
+/**
+ * Benchmarks de las operaciones de {@link Graph} sobre grafos sintéticos de
+ * distintas formas y tamaños. Con `-prof gc` JMH informa además de la tasa de
+ * asignación de memoria por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphBenchmark{
+
+    //Límites holgados que no se alcanzan: mide sólo el coste de comprobarlos.
+    private static final PathQueryOptions BOUNDED = PathQueryOptions.unbounded()
+            .withMaxVisited(Integer.MAX_VALUE - 1)
+            .withTimeout(1, TimeUnit.MINUTES);
+
+    //Vértice aislado que se añade al grafo como destino inalcanzable.
+    private static final int ISOLATED = -1;
+
+    @Param({"RMAT", "GRID", "CHAIN", "RANDOM"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[][] edges;
+    private Graph<Integer> graph;
+    private Traversal<Integer> traversal;
+    //Copia del grafo con `source` registrado como origen.
+    private Graph<Integer> registered;
+    //Copia del grafo con el índice de alcanzabilidad ya construido.
+    private Graph<Integer> indexed;
+    private int[] probes;
+    private int probe;
+    private int source;
+    private int near;
+    private int far;
+
+    @Setup
+    public void setup() throws Exception{
+        edges = GraphGenerators.edges(shape, size, 42);
+        graph = GraphGenerators.toGraph(edges);
+        graph.addVertex(ISOLATED);
+        traversal = graph.newTraversal();
+
+        // Origen: el vértice de mayor grado de salida entre los primeros arcos.
+        source = edges[0][0];
+        for (int i = 0; i < Math.min(edges[0].length, 1000); i++) {
+            if (graph.obtainAdjacents(edges[0][i]).size() > graph.obtainAdjacents(source).size()) {
+                source = edges[0][i];
+            }
+        }
+        BFSTree<Integer> tree = graph.bfsDistances(source);
+        near = graph.obtainAdjacents(source).iterator().next();
+        far = source;
+        for (int i = 0; i < edges[1].length; i++) {
+            if (tree.distance(edges[1][i]) > tree.distance(far)) {
+                far = edges[1][i];
+            }
+        }
+
+        registered = GraphGenerators.toGraph(edges);
+        registered.registerSource(source);
+        indexed = GraphGenerators.toGraph(edges);
+        indexed.addVertex(ISOLATED);
+        indexed.isReachable(source, ISOLATED);
+
+        probes = new int[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = edges[0][(int) ((long) i * edges[0].length / probes.length)];
+        }
+    }
+
+    @Benchmark
+    public Graph<Integer> addEdgeBuild(){
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < edges[0].length; i++) {
+            g.addEdge(edges[0][i], edges[1][i]);
+        }
+        return g;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Set<Integer> obtainAdjacents() throws Exception{
+        return graph.obtainAdjacents(probes[probe++ & (probes.length - 1)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int forEachAdjacent(){
+        int[] sum = new int[1];
+        graph.forEachAdjacent(probes[probe++ & (probes.length - 1)], v -> sum[0] += v);
+        return sum[0];
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathNear(){
+        return graph.shortestPath(source, near);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathFar(){
+        return graph.shortestPath(source, far);
+    }
+
+    @Benchmark
+    public PathResult<Integer> shortestPathFarBounded(){
+        return graph.shortestPath(source, far, BOUNDED);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathFarReusedTraversal(){
+        return traversal.shortestPath(source, far);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathFarRegisteredSource(){
+        return registered.shortestPath(source, far);
+    }
+
+    @Benchmark
+    public List<Integer> shortestPathUnreachable(){
+        return graph.shortestPath(source, ISOLATED);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<Integer> shortestPathUnreachableIndexed(){
+        return indexed.shortestPath(source, ISOLATED);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isReachableFar(){
+        return indexed.isReachable(source, far);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String toStringLarge(){
+        return graph.toString();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long writeToSorted() throws IOException{
+        CharCounter out = new CharCounter();
+        graph.writeTo(out, GraphFormat.ADJACENCY_LIST, true);
+        return out.count;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long writeToUnsorted() throws IOException{
+        CharCounter out = new CharCounter();
+        graph.writeTo(out, GraphFormat.ADJACENCY_LIST, false);
+        return out.count;
+    }
+
+    //Destino que descarta el texto y sólo cuenta sus caracteres.
+    private static final class CharCounter implements Appendable{
+        long count;
+
+        @Override
+        public Appendable append(CharSequence csq){
+            count += csq.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end){
+            count += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c){
+            count++;
+            return this;
+        }
+    }
+}
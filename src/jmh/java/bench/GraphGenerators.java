@@ -0,0 +1,136 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import util.Graph;
+
+/**
+ * Generadores de grafos sintéticos para los benchmarks. Cada generador devuelve
+ * los arcos como `{orígenes, destinos}` con vértices en `[0, size)`, siempre los
+ * mismos para una misma semilla.
+ */
+public final class GraphGenerators{
+
+    /**
+     * Familias de grafos sintéticos.
+     */
+    public enum Shape{
+        /** R-MAT (a=0.57, b=0.19, c=0.19), grado medio 8: distribución de grados de ley de potencias. */
+        RMAT,
+        /** Rejilla 2D con arcos en ambos sentidos entre celdas vecinas: diámetro grande, grado 4. */
+        GRID,
+        /** Cadena 0 -> 1 -> ... -> size-1: el peor caso de profundidad. */
+        CHAIN,
+        /** Arcos uniformes al azar, grado medio 4. */
+        RANDOM
+    }
+
+    private GraphGenerators(){
+    }
+
+    /**
+     * @param shape familia del grafo.
+     * @param size número de vértices (en la rejilla se redondea al cuadrado perfecto inferior).
+     * @param seed semilla del generador aleatorio.
+     * @return los arcos como `{orígenes, destinos}`.
+     */
+    public static int[][] edges(Shape shape, int size, long seed){
+        switch (shape) {
+            case RMAT:
+                return rmat(size, 8L * size, seed);
+            case GRID:
+                return grid((int) Math.sqrt(size));
+            case CHAIN:
+                return chain(size);
+            case RANDOM:
+                return random(size, 4L * size, seed);
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    /**
+     * @param edges arcos como `{orígenes, destinos}`.
+     * @return un `Graph<Integer>` con esos arcos.
+     */
+    public static Graph<Integer> toGraph(int[][] edges){
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < edges[0].length; i++) {
+            graph.addEdge(edges[0][i], edges[1][i]);
+        }
+        return graph;
+    }
+
+    static int[][] rmat(int size, long count, long seed){
+        SplittableRandom random = new SplittableRandom(seed);
+        int scale = 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1));
+        int[] sources = new int[(int) count];
+        int[] targets = new int[(int) count];
+        int generated = 0;
+        while (generated < count) {
+            int u = 0;
+            int v = 0;
+            for (int bit = 0; bit < scale; bit++) {
+                double p = random.nextDouble();
+                if (p < 0.57) {
+                    continue; // Cuadrante a
+                } else if (p < 0.76) {
+                    v |= 1 << bit; // Cuadrante b
+                } else if (p < 0.95) {
+                    u |= 1 << bit; // Cuadrante c
+                } else {
+                    u |= 1 << bit; // Cuadrante d
+                    v |= 1 << bit;
+                }
+            }
+            if (u < size && v < size) {
+                sources[generated] = u;
+                targets[generated] = v;
+                generated++;
+            }
+        }
+        return new int[][]{sources, targets};
+    }
+
+    static int[][] grid(int side){
+        int[] sources = new int[4 * side * Math.max(side - 1, 0)];
+        int[] targets = new int[sources.length];
+        int e = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int v = row * side + col;
+                if (col + 1 < side) {
+                    sources[e] = v; targets[e++] = v + 1;
+                    sources[e] = v + 1; targets[e++] = v;
+                }
+                if (row + 1 < side) {
+                    sources[e] = v; targets[e++] = v + side;
+                    sources[e] = v + side; targets[e++] = v;
+                }
+            }
+        }
+        return new int[][]{Arrays.copyOf(sources, e), Arrays.copyOf(targets, e)};
+    }
+
+    static int[][] chain(int size){
+        int[] sources = new int[Math.max(size - 1, 0)];
+        int[] targets = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = i;
+            targets[i] = i + 1;
+        }
+        return new int[][]{sources, targets};
+    }
+
+    static int[][] random(int size, long count, long seed){
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] sources = new int[(int) count];
+        int[] targets = new int[(int) count];
+        for (int i = 0; i < count; i++) {
+            sources[i] = random.nextInt(size);
+            targets[i] = random.nextInt(size);
+        }
+        return new int[][]{sources, targets};
+    }
+}
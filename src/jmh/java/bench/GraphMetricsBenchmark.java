@@ -0,0 +1,65 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.Graph;
+import util.GraphMetrics;
+
+/**
+ * Coste de la instrumentación de {@link GraphMetrics}: `shortestPath` y
+ * `addEdge` con las métricas desactivadas y activadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphMetricsBenchmark{
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private Graph<Integer> graph;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        graph = GraphGenerators.toGraph(GraphGenerators.edges(GraphGenerators.Shape.GRID, 1000, 42));
+        if (enabled) {
+            GraphMetrics.enable();
+        } else {
+            GraphMetrics.disable();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        GraphMetrics.disable();
+        GraphMetrics.reset();
+    }
+
+    @Benchmark
+    public List<Integer> shortestPath(){
+        return graph.shortestPath(0, 45);
+    }
+
+    @Benchmark
+    public boolean addExistingEdge(){
+        return graph.addEdge(0, 1);
+    }
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.Graph;
+import util.OffHeapGraph;
+
+/**
+ * `shortestPath` entre pares al azar sobre {@link Graph} y sobre
+ * {@link OffHeapGraph} con los mismos arcos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OffHeapGraphBenchmark{
+
+    @Param({"RMAT", "GRID"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"100000"})
+    public int size;
+
+    private Graph<Integer> heap;
+    private OffHeapGraph<Integer> offHeap;
+    private int[] pairs;
+    private int next;
+
+    @Setup
+    public void setup(){
+        int[][] edges = GraphGenerators.edges(shape, size, 42);
+        heap = GraphGenerators.toGraph(edges);
+        offHeap = new OffHeapGraph<>();
+        for (int i = 0; i < edges[0].length; i++) {
+            offHeap.addEdge(edges[0][i], edges[1][i]);
+        }
+        Random random = new Random(1);
+        int vertices = Math.max(1, (int) Math.sqrt(size)) * Math.max(1, (int) Math.sqrt(size));
+        pairs = new int[256];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = random.nextInt(shape == GraphGenerators.Shape.GRID ? vertices : size);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> heapShortestPath(){
+        int i = next++ & (pairs.length - 2);
+        return heap.shortestPath(pairs[i], pairs[i + 1]);
+    }
+
+    @Benchmark
+    public List<Integer> offHeapShortestPath(){
+        int i = next++ & (pairs.length - 2);
+        return offHeap.shortestPath(pairs[i], pairs[i + 1]);
+    }
+}
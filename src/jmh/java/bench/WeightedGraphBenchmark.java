@@ -0,0 +1,69 @@
+package bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import util.WeightedGraph;
+
+/**
+ * Compara el camino con menos arcos (BFS) con el de menor peso (Dijkstra y A*)
+ * entre esquinas opuestas de una rejilla con pesos aleatorios entre 1 y 10,
+ * como modelo simplificado de una red de carreteras.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WeightedGraphBenchmark{
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private WeightedGraph<Integer> graph;
+    private int side;
+    private int target;
+
+    @Setup
+    public void setup(){
+        int[][] edges = GraphGenerators.edges(GraphGenerators.Shape.GRID, size, 42);
+        Random random = new Random(42);
+        graph = new WeightedGraph<>();
+        for (int i = 0; i < edges[0].length; i++) {
+            graph.addEdge(edges[0][i], edges[1][i], 1 + random.nextInt(10));
+        }
+        side = (int) Math.sqrt(size);
+        target = side * side - 1;
+    }
+
+    @Benchmark
+    public List<Integer> bfs(){
+        return graph.shortestPath(0, target);
+    }
+
+    @Benchmark
+    public List<Integer> dijkstra(){
+        return graph.shortestWeightedPath(0, target);
+    }
+
+    @Benchmark
+    public List<Integer> aStarManhattan(){
+        // Distancia Manhattan por el peso mínimo (1): admisible.
+        return graph.shortestWeightedPath(0, target,
+                v -> Math.abs(v / side - target / side) + Math.abs(v % side - target % side));
+    }
+}
@@ -1,13 +1,29 @@
 package pr2;
 
+import util.ConcurrentGraph;
 import util.Graph; // Importa la clase Graph del paquete util
 import java.util.List;
 import java.util.Arrays; // Útil para crear listas rápidamente para comparación o impresión
 
 public class App 
 {
-    public static void main( String[] args )
+    public static void main( String[] args ) throws Exception
     {
+        // Modo servidor: App --server [puerto] [ventana de agrupación en microsegundos]
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            long window = args.length > 2 ? Long.parseLong(args[2]) : 500;
+            // Sin esto, cada respuesta en una conexión persistente espera al ACK
+            // retardado del cliente (ver GraphServer); se lee al crear el primer servidor.
+            if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+            GraphServer server = new GraphServer(new ConcurrentGraph<>(), port, window);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Servidor de grafos en " + server.uri());
+            return; // El hilo del HttpServer mantiene viva la JVM
+        }
+
         System.out.println("Demostración de la clase Grafo:");
         System.out.println("==============================");
 
@@ -0,0 +1,213 @@
+package pr2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import util.ConcurrentGraph;
+
+/**
+ * Servicio de consultas sobre un grafo de cadenas, con el `HttpServer` del JDK
+ * escuchando sólo en la interfaz de loopback. Cada petición se atiende en su
+ * propio hilo virtual (en JDK 21 o posterior; en versiones anteriores, en un
+ * pool de hilos de plataforma creados bajo demanda).
+ *
+ * Endpoints (parámetros en la query string, respuestas en texto plano UTF-8):
+ * <ul>
+ *   <li>`POST /edge?from=a&to=b`: añade el arco; responde `true` si es nuevo y
+ *   `false` si ya existía.</li>
+ *   <li>`GET /adjacents?v=a`: adyacentes de `a` ordenados, como `[b, c]`; 404
+ *   si el vértice no existe.</li>
+ *   <li>`GET /path?from=a&to=b`: camino más corto, como `[a, ..., b]`; 404 si no
+ *   hay camino. Las consultas que llegan dentro de la ventana de agrupación se
+ *   resuelven juntas (ver {@link PathBatcher}).</li>
+ *   <li>`GET /stats`: consultas de camino recibidas y lotes resueltos.</li>
+ * </ul>
+ *
+ * El grafo es un {@link ConcurrentGraph}, así que las escrituras y las consultas
+ * concurrentes no necesitan bloqueos adicionales.
+ *
+ * El `HttpServer` del JDK escribe cabeceras y cuerpo por separado; con el
+ * algoritmo de Nagle activo, cada respuesta en una conexión persistente espera
+ * al ACK retardado del cliente (unos 40 ms). Conviene arrancar la JVM con
+ * `-Dsun.net.httpserver.nodelay=true`, que `App --server` fija si no se indica.
+ */
+public class GraphServer implements AutoCloseable{
+
+    //Tamaño máximo de un lote de consultas de camino.
+    private static final int MAX_BATCH = 1024;
+
+    private final ConcurrentGraph<String> graph;
+    private final ExecutorService executor;
+    private final PathBatcher batcher;
+    private final HttpServer server;
+
+    /**
+     * Crea el servidor y empieza a atender peticiones.
+     *
+     * @param graph grafo consultado y modificado por las peticiones.
+     * @param port puerto de loopback, o 0 para uno libre cualquiera.
+     * @param batchWindowMicros duración en microsegundos de la ventana de
+     * agrupación de consultas de camino; 0 para no agruparlas.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public GraphServer(ConcurrentGraph<String> graph, int port, long batchWindowMicros) throws IOException{
+        this.graph = graph;
+        this.executor = newRequestExecutor();
+        this.batcher = new PathBatcher(graph, executor, batchWindowMicros, MAX_BATCH);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/edge", exchange -> handle(exchange, "POST", this::edge));
+        server.createContext("/adjacents", exchange -> handle(exchange, "GET", this::adjacents));
+        server.createContext("/path", exchange -> handle(exchange, "GET", this::path));
+        server.createContext("/stats", exchange -> handle(exchange, "GET", this::stats));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return dirección base del servidor, como `http://127.0.0.1:8080`.
+     */
+    public URI uri(){
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getAddress().getHostAddress() + ":" + address.getPort());
+    }
+
+    /**
+     * @return número de consultas de camino recibidas.
+     */
+    public long pathQueries(){
+        return batcher.queries();
+    }
+
+    /**
+     * @return número de lotes en los que se han resuelto las consultas de camino.
+     */
+    public long pathBatches(){
+        return batcher.batches();
+    }
+
+    /**
+     * Deja de aceptar peticiones y libera los hilos del servidor.
+     */
+    @Override
+    public void close(){
+        server.stop(0);
+        batcher.close();
+        executor.shutdownNow();
+    }
+
+    private Response edge(Map<String, String> params){
+        return Response.ok(String.valueOf(graph.addEdge(required(params, "from"), required(params, "to"))));
+    }
+
+    private Response adjacents(Map<String, String> params){
+        String v = required(params, "v");
+        try {
+            return Response.ok(new TreeSet<>(graph.obtainAdjacents(v)).toString());
+        } catch (Exception e) {
+            return new Response(404, e.getMessage());
+        }
+    }
+
+    private Response path(Map<String, String> params) throws InterruptedException{
+        List<String> path = batcher.shortestPath(required(params, "from"), required(params, "to"));
+        return path == null ? new Response(404, "No path") : Response.ok(path.toString());
+    }
+
+    private Response stats(Map<String, String> params){
+        return Response.ok("pathQueries=" + batcher.queries() + " pathBatches=" + batcher.batches());
+    }
+
+    private static void handle(HttpExchange exchange, String method, Handler handler) throws IOException{
+        Response response;
+        try {
+            if (!exchange.getRequestMethod().equals(method)) {
+                response = new Response(405, "Method not allowed");
+            } else {
+                response = handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+        } catch (IllegalArgumentException e) {
+            response = new Response(400, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = new Response(503, "Interrupted");
+        } catch (RuntimeException e) {
+            response = new Response(500, String.valueOf(e.getMessage()));
+        }
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery){
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String required(Map<String, String> params, String name){
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    //Un hilo virtual por petición si el JDK los tiene (21+); si no, hilos de
+    //plataforma bajo demanda. Se busca por reflexión para compilar con release 17.
+    static ExecutorService newRequestExecutor(){
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "graph-server");
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+
+    private interface Handler{
+        Response handle(Map<String, String> params) throws InterruptedException;
+    }
+
+    private static final class Response{
+        final int status;
+        final String body;
+
+        Response(int status, String body){
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(String body){
+            return new Response(200, body);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package pr2;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.LatencyHistogram;
+
+/**
+ * Generador de carga para {@link GraphServer}: varios hilos lanzan consultas de
+ * camino entre vértices al azar durante un tiempo fijo, en bucle cerrado (cada
+ * hilo espera la respuesta antes de enviar la siguiente), y se informa del
+ * rendimiento y de los percentiles de latencia.
+ *
+ * Los vértices se llaman `v0 .. v{n-1}`, como los que crea {@link #populate}.
+ */
+public final class LoadGenerator{
+
+    private LoadGenerator(){
+    }
+
+    /**
+     * Resultado de una ejecución.
+     */
+    public static final class Report{
+        private final long requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final LatencyHistogram latencies;
+
+        Report(long requests, long errors, long elapsedNanos, LatencyHistogram latencies){
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        /**
+         * @return número de peticiones respondidas (200 o 404).
+         */
+        public long requests(){
+            return requests;
+        }
+
+        /**
+         * @return número de peticiones fallidas o con otro código de estado.
+         */
+        public long errors(){
+            return errors;
+        }
+
+        /**
+         * @return peticiones respondidas por segundo.
+         */
+        public double throughput(){
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return latencias de las peticiones respondidas, en nanosegundos.
+         */
+        public LatencyHistogram latencies(){
+            return latencies;
+        }
+
+        @Override
+        public String toString(){
+            return String.format(Locale.ROOT,
+                    "%d requests (%d errors) in %.1f s: %.0f req/s, latency us p50=%d p99=%d p99.9=%d max=%d",
+                    requests, errors, elapsedNanos / 1e9, throughput(),
+                    latencies.percentile(50) / 1000, latencies.percentile(99) / 1000,
+                    latencies.percentile(99.9) / 1000, latencies.max() / 1000);
+        }
+    }
+
+    /**
+     * Crea en el servidor un grafo al azar con `vertices` vértices y
+     * `edgesPerVertex` arcos salientes por vértice.
+     *
+     * @param base dirección base del servidor.
+     * @param vertices número de vértices.
+     * @param edgesPerVertex arcos salientes por vértice (pueden repetirse).
+     * @param seed semilla de los arcos.
+     * @throws IOException si falla alguna petición.
+     * @throws InterruptedException si el hilo se interrumpe.
+     */
+    public static void populate(URI base, int vertices, int edgesPerVertex, long seed)
+            throws IOException, InterruptedException{
+        HttpClient client = newClient();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int v = 0; v < vertices; v++) {
+            for (int e = 0; e < edgesPerVertex; e++) {
+                HttpRequest request = HttpRequest.newBuilder(base.resolve(
+                        "/edge?from=v" + v + "&to=v" + random.nextInt(vertices)))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    throw new IOException("Unexpected status " + response.statusCode() + " adding edge");
+                }
+            }
+        }
+    }
+
+    /**
+     * Lanza consultas de camino durante `duration` desde `concurrency` hilos.
+     *
+     * @param base dirección base del servidor.
+     * @param concurrency número de hilos, cada uno con una petición en curso.
+     * @param duration duración de la prueba.
+     * @param vertices número de vértices entre los que se eligen origen y destino.
+     * @param seed semilla de las consultas.
+     * @return el informe de la ejecución.
+     * @throws InterruptedException si el hilo se interrumpe.
+     */
+    public static Report run(URI base, int concurrency, Duration duration, int vertices, long seed)
+            throws InterruptedException{
+        HttpClient client = newClient();
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            SplittableRandom random = seeds.split();
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    HttpRequest request = HttpRequest.newBuilder(base.resolve(
+                            "/path?from=v" + random.nextInt(vertices) + "&to=v" + random.nextInt(vertices))).build();
+                    long sent = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 200 || status == 404) {
+                            latencies.record(System.nanoTime() - sent);
+                        } else {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new Report(latencies.count(), errors.sum(), System.nanoTime() - start, latencies);
+    }
+
+    private static HttpClient newClient(){
+        return HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    /**
+     * Uso: `LoadGenerator <url> [hilos] [segundos] [vértices]`. Crea un grafo al
+     * azar con 4 arcos por vértice en el servidor y lanza la carga.
+     */
+    public static void main(String[] args) throws Exception{
+        if (args.length < 1) {
+            System.err.println("Uso: LoadGenerator <url> [hilos] [segundos] [vértices]");
+            System.exit(1);
+        }
+        URI base = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int vertices = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        populate(base, vertices, 4, 42);
+        System.out.println(run(base, concurrency, Duration.ofSeconds(seconds), vertices, 1));
+    }
+}
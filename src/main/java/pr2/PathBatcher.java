@@ -0,0 +1,168 @@
+package pr2;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import util.ConcurrentGraph;
+
+/**
+ * Agrupa las consultas de camino que llegan dentro de una ventana de tiempo y
+ * las resuelve juntas con {@link ConcurrentGraph#shortestPaths(List)}, que hace
+ * una sola búsqueda en anchura por cada origen distinto del lote.
+ *
+ * Un hilo recolector espera la primera consulta, acumula las que llegan durante
+ * la ventana (o hasta `maxBatch`) y entrega el lote al ejecutor; mientras tanto,
+ * cada hilo que consulta queda bloqueado esperando su resultado. Con una ventana
+ * de 0 no hay agrupación y cada consulta se resuelve en el hilo que la hace.
+ */
+final class PathBatcher implements AutoCloseable{
+
+    private final ConcurrentGraph<String> graph;
+    private final Executor executor;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final LinkedBlockingQueue<Query> queue = new LinkedBlockingQueue<>();
+    private final Thread collector;
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    //Tras close(), las consultas nuevas fallan en lugar de esperar a un recolector parado.
+    private volatile boolean closed;
+
+    PathBatcher(ConcurrentGraph<String> graph, Executor executor, long windowMicros, int maxBatch){
+        this.graph = graph;
+        this.executor = executor;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = maxBatch;
+        if (windowNanos > 0) {
+            collector = new Thread(this::collect, "path-batcher");
+            collector.setDaemon(true);
+            collector.start();
+        } else {
+            collector = null;
+        }
+    }
+
+    /**
+     * Camino más corto de `from` a `to`, resuelto en el siguiente lote.
+     *
+     * @return el camino, o `null` si no hay camino o los vértices no existen.
+     * @throws InterruptedException si el hilo se interrumpe mientras espera.
+     * @throws IllegalStateException si el agrupador está cerrado.
+     */
+    List<String> shortestPath(String from, String to) throws InterruptedException{
+        queries.incrementAndGet();
+        if (collector == null) {
+            batches.incrementAndGet();
+            return graph.shortestPath(from, to);
+        }
+        if (closed) {
+            throw closedException();
+        }
+        Query query = new Query(from, to);
+        queue.add(query);
+        if (closed) {
+            failPending(); // close() pudo vaciar la cola antes de que llegara la consulta
+        }
+        try {
+            return query.result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return número de consultas recibidas.
+     */
+    long queries(){
+        return queries.get();
+    }
+
+    /**
+     * @return número de lotes resueltos (o en curso).
+     */
+    long batches(){
+        return batches.get();
+    }
+
+    @Override
+    public void close(){
+        closed = true;
+        if (collector != null) {
+            collector.interrupt();
+        }
+        failPending();
+    }
+
+    private void failPending(){
+        for (Query query = queue.poll(); query != null; query = queue.poll()) {
+            query.result.completeExceptionally(closedException());
+        }
+    }
+
+    private static IllegalStateException closedException(){
+        return new IllegalStateException("Server closed");
+    }
+
+    private void collect(){
+        List<Query> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch = new ArrayList<>();
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    Query next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break; // Fin de la ventana
+                    }
+                    batch.add(next);
+                }
+                batches.incrementAndGet();
+                List<Query> ready = batch;
+                executor.execute(() -> resolve(ready));
+            }
+        } catch (InterruptedException | RejectedExecutionException e) {
+            // close(): termina el recolector y falla el lote que estaba reuniendo
+            for (Query query : batch) {
+                query.result.completeExceptionally(closedException());
+            }
+        }
+    }
+
+    private void resolve(List<Query> batch){
+        try {
+            List<Map.Entry<String, String>> pairs = new ArrayList<>(batch.size());
+            for (Query query : batch) {
+                pairs.add(new AbstractMap.SimpleImmutableEntry<>(query.from, query.to));
+            }
+            List<List<String>> paths = graph.shortestPaths(pairs);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(paths.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (Query query : batch) {
+                query.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Query{
+        final String from;
+        final String to;
+        final CompletableFuture<List<String>> result = new CompletableFuture<>();
+
+        Query(String from, String to){
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una búsqueda en anchura desde un único origen: la distancia (en
+ * número de arcos) a cada vértice y el árbol de predecesores, con el que se
+ * puede reconstruir un camino más corto a cualquier vértice sin volver a buscar.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class BFSTree<V>{
+
+    private final FrozenGraph<V> graph;
+    private final int source;
+    //distance[i] == -1 indica que el vértice i no es alcanzable desde el origen.
+    private final int[] distance;
+    private final int[] parent;
+
+    BFSTree(FrozenGraph<V> graph, int source, int[] distance, int[] parent){
+        this.graph = graph;
+        this.source = source;
+        this.distance = distance;
+        this.parent = parent;
+    }
+
+    /**
+     * @return el vértice origen de la búsqueda.
+     */
+    public V source(){
+        return graph.vertexOf(source);
+    }
+
+    /**
+     * @param v vértice destino.
+     * @return número de arcos del camino más corto desde el origen hasta `v`, o
+     * `-1` si `v` no es alcanzable o no existe en el grafo.
+     */
+    public int distance(V v){
+        int id = graph.idOf(v);
+        return id < 0 ? -1 : distance[id];
+    }
+
+    /**
+     * @param v vértice destino.
+     * @return `true` si existe un camino desde el origen hasta `v`.
+     */
+    public boolean isReachable(V v){
+        return distance(v) >= 0;
+    }
+
+    /**
+     * @param v vértice destino.
+     * @return el vértice anterior a `v` en el camino más corto desde el origen, o
+     * `null` si `v` es el origen, no es alcanzable o no existe en el grafo.
+     */
+    public V predecessor(V v){
+        int id = graph.idOf(v);
+        if (id < 0 || id == source || distance[id] < 0) {
+            return null;
+        }
+        return graph.vertexOf(parent[id]);
+    }
+
+    /**
+     * Reconstruye el camino más corto desde el origen hasta `v`.
+     *
+     * @param v vértice destino.
+     * @return lista con la secuencia de vértices del camino, o `null` si no hay
+     * camino o `v` no existe en el grafo.
+     */
+    public List<V> pathTo(V v){
+        int id = graph.idOf(v);
+        if (id < 0 || distance[id] < 0) {
+            return null;
+        }
+        List<V> path = new ArrayList<>(distance[id] + 1);
+        for (int step = id; step != source; step = parent[step]) {
+            path.add(graph.vertexOf(step));
+        }
+        path.add(graph.vertexOf(source));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * @return número de vértices alcanzables desde el origen, incluido él mismo.
+     */
+    public int reachableCount(){
+        int count = 0;
+        for (int d : distance) {
+            if (d >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return la mayor distancia desde el origen a un vértice alcanzable.
+     */
+    public int depth(){
+        int max = 0;
+        for (int d : distance) {
+            max = Math.max(max, d);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,25 @@
+package util;
+
+/**
+ * Señal de cancelación cooperativa para consultas largas. Un hilo llama a
+ * {@link #cancel()} y la consulta que usa el token lo comprueba periódicamente y
+ * termina en cuanto lo ve, sin interrumpir el hilo que la ejecuta.
+ */
+public final class CancellationToken{
+
+    private volatile boolean cancelled;
+
+    /**
+     * Pide la cancelación. Es idempotente y se puede llamar desde cualquier hilo.
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @return `true` si se ha pedido la cancelación.
+     */
+    public boolean isCancelled(){
+        return cancelled;
+    }
+}
@@ -0,0 +1,189 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Variante de {@link Graph} segura para hilos, con la misma API básica. La
+ * lista de adyacencia es un `ConcurrentHashMap` cuyos valores son conjuntos
+ * concurrentes, así que las escrituras sólo se bloquean entre sí cuando tocan la
+ * misma celda de la tabla y las lecturas nunca se bloquean.
+ *
+ * Garantías de consistencia:
+ * <ul>
+ *   <li>Cada `addVertex` y `addEdge` es atómico: un arco nunca se ve a medias y
+ *   su destino es visible como vértice antes que el propio arco.</li>
+ *   <li>Las lecturas son débilmente consistentes: ven todas las escrituras
+ *   terminadas antes de empezar y pueden ver o no las concurrentes.</li>
+ *   <li>Como no se eliminan vértices ni arcos, todo camino que devuelve
+ *   `shortestPath` existe en el grafo al terminar la llamada. Si hay escrituras
+ *   concurrentes, puede no ser mínimo respecto al estado final.</li>
+ * </ul>
+ *
+ * @param <V> tipo de los vértices.
+ */
+public class ConcurrentGraph<V>{
+
+    //Lista de adyacencia.
+    private final ConcurrentHashMap<V, Set<V>> adjacencyList = new ConcurrentHashMap<>();
+
+    /**
+     * Añade el vértice `v` al grafo.
+     *
+     * @param v vértice a añadir.
+     * @return `true` si no estaba anteriormente y `false` en caso contrario.
+     */
+    public boolean addVertex(V v){
+        if (adjacencyList.containsKey(v)) {
+            return false; // Camino rápido sin crear el conjunto
+        }
+        return adjacencyList.putIfAbsent(v, ConcurrentHashMap.<V>newKeySet()) == null;
+    }
+
+    /**
+     * Añade un arco entre los vértices `v1` y `v2` al grafo. En caso de
+     * que no exista alguno de los vértices, lo añade también.
+     *
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @return `true` si no existía el arco y `false` en caso contrario.
+     */
+    public boolean addEdge(V v1, V v2){
+        // El destino se registra antes que el arco para que nunca se vea un arco hacia un vértice inexistente
+        addVertex(v2);
+        addVertex(v1);
+        return adjacencyList.get(v1).add(v2);
+    }
+
+    /**
+     * Obtiene el conjunto de vértices adyacentes a `v`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return copia del conjunto de vértices adyacentes.
+     * @throws Exception si el vértice no existe en el grafo.
+     */
+    public Set<V> obtainAdjacents(V v) throws Exception{
+        Set<V> adjacents = adjacencyList.get(v);
+        if (adjacents == null) {
+            throw new Exception("Vertex " + v + " not found in the graph.");
+        }
+        return new HashSet<>(adjacents);
+    }
+
+    /**
+     * Comprueba si el grafo contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` es un vértice del grafo.
+     */
+    public boolean containsVertex(V v){
+        return adjacencyList.containsKey(v);
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino más corto entre
+     * `v1` y `v2`. En caso contrario, devuelve `null`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestPath(V v1, V v2){
+        if (!containsVertex(v1) || !containsVertex(v2)) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+        Map<V, V> predecessors = Graph.predecessorTree(adjacencyList, v1, Collections.singleton(v2));
+        return Graph.buildPath(predecessors, v1, v2);
+    }
+
+    /**
+     * Calcula el camino más corto para cada par (origen, destino) de `pairs`,
+     * con una única búsqueda en anchura por cada origen distinto.
+     *
+     * @param pairs pares (origen, destino) a resolver.
+     * @return lista con el camino de cada par (o `null`) en el mismo orden que `pairs`.
+     * @see Graph#shortestPaths(List)
+     */
+    public List<List<V>> shortestPaths(List<? extends Map.Entry<V, V>> pairs){
+        Map<V, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            groups.computeIfAbsent(pairs.get(i).getKey(), k -> new ArrayList<>()).add(i);
+        }
+
+        List<List<V>> results = new ArrayList<>(Collections.<List<V>>nCopies(pairs.size(), null));
+        for (Map.Entry<V, List<Integer>> group : groups.entrySet()) {
+            V source = group.getKey();
+            if (!containsVertex(source)) {
+                continue;
+            }
+            // Sólo destinos del grafo: uno inexistente impediría la parada anticipada.
+            Set<V> targets = new HashSet<>();
+            for (int i : group.getValue()) {
+                V target = pairs.get(i).getValue();
+                if (containsVertex(target)) {
+                    targets.add(target);
+                }
+            }
+            Map<V, V> predecessors = Graph.predecessorTree(adjacencyList, source, targets);
+            for (int i : group.getValue()) {
+                V target = pairs.get(i).getValue();
+                results.set(i, targets.contains(target) ? Graph.buildPath(predecessors, source, target) : null);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Crea una instantánea inmutable en formato CSR. Con escrituras concurrentes,
+     * la instantánea contiene todo lo añadido antes de la llamada y, quizá, parte
+     * de lo añadido durante ella, pero siempre es un grafo válido.
+     *
+     * @return la instantánea del estado actual del grafo.
+     */
+    public FrozenGraph<V> freeze(){
+        Map<V, Set<V>> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<V, Set<V>> entry : adjacencyList.entrySet()) {
+            snapshot.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        // Destinos de arcos cuyo vértice se añadió después de recorrer el mapa.
+        List<V> missing = new ArrayList<>();
+        for (Set<V> adjacents : snapshot.values()) {
+            for (V w : adjacents) {
+                if (!snapshot.containsKey(w)) {
+                    missing.add(w);
+                }
+            }
+        }
+        for (V w : missing) {
+            snapshot.putIfAbsent(w, new HashSet<>());
+        }
+        return new FrozenGraph<>(snapshot);
+    }
+
+    /**
+     * Mismo formato que {@link Graph#toString()}, calculado sobre una copia del
+     * estado actual.
+     *
+     * @return una cadena de caracteres con la lista de adyacencia.
+     */
+    @Override
+    public String toString(){
+        Graph<V> copy = new Graph<>();
+        Map<V, Set<V>> snapshot = new HashMap<>(adjacencyList);
+        for (Map.Entry<V, Set<V>> entry : snapshot.entrySet()) {
+            copy.addVertex(entry.getKey());
+            for (V w : entry.getValue()) {
+                copy.addEdge(entry.getKey(), w);
+            }
+        }
+        return copy.toString();
+    }
+}
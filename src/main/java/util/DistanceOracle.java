@@ -0,0 +1,645 @@
+package util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Oráculo de distancias exactas en número de arcos basado en el etiquetado con
+ * puntos de referencia podado (pruned landmark labeling, cobertura de 2 saltos).
+ *
+ * Cada vértice `v` guarda dos etiquetas ordenadas por rango de referencia:
+ * `in(v)`, con pares (referencia h, d(h, v)), y `out(v)`, con pares
+ * (referencia h, d(v, h)). La distancia de `s` a `t` es el mínimo de
+ * `d(s, h) + d(h, t)` sobre las referencias comunes de `out(s)` e `in(t)`, que se
+ * obtiene fusionando dos arrays ordenados sin recorrer el grafo.
+ *
+ * Las referencias se procesan por grado total descendente. Para cada una se hace
+ * una BFS hacia delante y otra hacia atrás que se podan en los vértices cuya
+ * distancia ya cubren las etiquetas anteriores. La construcción es paralela en
+ * dos niveles: las primeras referencias, que son las que más podan, se procesan
+ * de una en una con sus dos BFS en paralelo; las demás, en lotes de tantas
+ * referencias como hilos tenga el pool, cada una en su propia tarea. Dentro de
+ * un lote las búsquedas sólo podan con las etiquetas de los lotes anteriores y
+ * sus resultados se fusionan después en orden de rango, así que las etiquetas
+ * pueden tener alguna entrada más que en la construcción secuencial, pero las
+ * distancias y los caminos son igual de exactos.
+ *
+ * Funciona bien en grafos de mundo pequeño con vértices muy conectados (redes
+ * sociales, web), donde unas pocas referencias cubren casi todos los caminos. En
+ * rejillas o grafos aleatorios sin vértices dominantes las etiquetas crecen mucho.
+ * El índice es inmutable; los cambios posteriores en el grafo no le afectan.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class DistanceOracle<V>{
+
+    static final int MAGIC = 0x444F5243; // "DORC"
+    static final int VERSION = 1;
+
+    //BFS (hacia delante + hacia atrás) de la referencia anterior a partir de la cual
+    //compensa lanzar las dos búsquedas de la siguiente en paralelo.
+    private static final int PARALLEL_THRESHOLD = 4096;
+    //Referencias que se procesan de una en una antes de pasar a los lotes: agruparlas
+    //perdería la poda que aportan a las siguientes.
+    static final int SEQUENTIAL_LANDMARKS = 64;
+
+    //Diccionario de vértices: vértice -> identificador denso.
+    private final Map<V, Integer> ids;
+    //Vértice correspondiente a cada identificador.
+    private final Object[] vertices;
+    //order[rango] = identificador de la referencia con ese rango.
+    private final int[] order;
+    //Etiquetas de entrada (referencia -> v) y de salida (v -> referencia).
+    private final Labels in;
+    private final Labels out;
+    private final long buildNanos;
+
+    private DistanceOracle(Object[] vertices, int[] order, Labels in, Labels out, long buildNanos){
+        this.vertices = vertices;
+        this.order = order;
+        this.in = in;
+        this.out = out;
+        this.buildNanos = buildNanos;
+        this.ids = new HashMap<>(Math.max(16, (int) (vertices.length / 0.75f) + 1));
+        for (int id = 0; id < vertices.length; id++) {
+            @SuppressWarnings("unchecked")
+            V v = (V) vertices[id];
+            ids.put(v, id);
+        }
+    }
+
+    /**
+     * Construye el índice sobre el estado actual del grafo.
+     *
+     * @param graph grafo de origen.
+     * @return el oráculo de distancias.
+     */
+    public static <V> DistanceOracle<V> build(Graph<V> graph){
+        return build(graph.freeze());
+    }
+
+    /**
+     * Construye el índice sobre una instantánea, usando el `ForkJoinPool` común.
+     *
+     * @param graph instantánea de origen.
+     * @return el oráculo de distancias.
+     * @see #build(FrozenGraph, ForkJoinPool)
+     */
+    public static <V> DistanceOracle<V> build(FrozenGraph<V> graph){
+        return build(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construye el índice sobre una instantánea, con las búsquedas repartidas
+     * entre los hilos de `pool`. Cada hilo necesita sus propios arrays de trabajo,
+     * unos 16 bytes por vértice.
+     *
+     * @param graph instantánea de origen.
+     * @param pool pool en el que se ejecutan las búsquedas.
+     * @return el oráculo de distancias.
+     */
+    public static <V> DistanceOracle<V> build(FrozenGraph<V> graph, ForkJoinPool pool){
+        long start = System.nanoTime();
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[][] reverse = graph.reverse();
+        int[] inOffsets = reverse[0];
+        int[] inSources = reverse[1];
+
+        // Orden por grado total descendente (a igualdad, por identificador).
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            long degree = (offsets[v + 1] - offsets[v]) + (inOffsets[v + 1] - inOffsets[v]);
+            keys[v] = (Integer.MAX_VALUE - degree) << 32 | v;
+        }
+        Arrays.parallelSort(keys);
+        int[] order = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            order[rank] = (int) keys[rank];
+        }
+
+        Labels in = new Labels(n);
+        Labels out = new Labels(n);
+        // Hacia delante se rellenan las etiquetas de entrada consultando la de salida
+        // de la referencia; hacia atrás, al revés.
+        // Cada trabajador busca en los dos sentidos; el primero tiene arrays distintos
+        // para cada sentido y así puede lanzar las dos búsquedas a la vez.
+        int workers = Math.max(1, Math.min(pool.getParallelism(), n));
+        LandmarkSearch[] searches = new LandmarkSearch[workers];
+        for (int w = 0; w < workers; w++) {
+            Scratch forwardScratch = new Scratch(n);
+            Scratch backwardScratch = w == 0 ? new Scratch(n) : forwardScratch;
+            searches[w] = new LandmarkSearch(
+                    new PrunedSearch(forwardScratch, offsets, targets, in, out),
+                    new PrunedSearch(backwardScratch, inOffsets, inSources, out, in));
+        }
+        int lastVisited = n;
+        int rank = 0;
+        while (rank < n) {
+            if (workers == 1 || rank < SEQUENTIAL_LANDMARKS) {
+                LandmarkSearch search = searches[0];
+                search.prepare(order[rank], rank);
+                if (workers > 1 && lastVisited >= PARALLEL_THRESHOLD) {
+                    ForkJoinTask<?> task = pool.submit(search.forward);
+                    search.backward.run();
+                    task.join();
+                } else {
+                    search.run();
+                }
+                search.commit();
+                lastVisited = search.forward.visited + search.backward.visited;
+                rank++;
+            } else {
+                int batch = Math.min(workers, n - rank);
+                List<ForkJoinTask<?>> tasks = new ArrayList<>(batch);
+                for (int w = 0; w < batch; w++) {
+                    searches[w].prepare(order[rank + w], rank + w);
+                    tasks.add(pool.submit(searches[w]));
+                }
+                for (ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+                for (int w = 0; w < batch; w++) {
+                    searches[w].commit(); // En orden de rango: las etiquetas siguen ordenadas
+                }
+                rank += batch;
+            }
+        }
+        in.trim();
+        out.trim();
+
+        Object[] vertices = new Object[n];
+        for (int id = 0; id < n; id++) {
+            vertices[id] = graph.vertexOf(id);
+        }
+        return new DistanceOracle<>(vertices, order, in, out, System.nanoTime() - start);
+    }
+
+    /**
+     * @return número de vértices indexados.
+     */
+    public int vertexCount(){
+        return vertices.length;
+    }
+
+    /**
+     * Comprueba si el índice contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` estaba en el grafo al construir el índice.
+     */
+    public boolean containsVertex(V v){
+        return ids.containsKey(v);
+    }
+
+    /**
+     * Obtiene la distancia exacta, en número de arcos, de `v1` a `v2`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return número de arcos del camino más corto, o -1 si no hay camino o
+     * alguno de los vértices no está en el índice.
+     */
+    public int distance(V v1, V v2){
+        Integer s = ids.get(v1);
+        Integer t = ids.get(v2);
+        if (s == null || t == null) {
+            return -1;
+        }
+        long best = bestHub(s, t);
+        return best < 0 ? -1 : (int) (best >>> 32);
+    }
+
+    /**
+     * Obtiene, en caso de que exista, un camino más corto entre `v1` y `v2`,
+     * reconstruido a partir de las etiquetas sin recorrer el grafo.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto entre
+     * `v1` y `v2`, o `null` si no hay camino o los vértices no están en el índice.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> shortestPath(V v1, V v2){
+        Integer s = ids.get(v1);
+        Integer t = ids.get(v2);
+        if (s == null || t == null) {
+            return null;
+        }
+        long best = bestHub(s, t);
+        if (best < 0) {
+            return null; // No hay camino
+        }
+        int hubRank = (int) best;
+        int hub = order[hubRank];
+        List<V> path = new ArrayList<>();
+        // De v1 a la referencia, siguiendo los sucesores de las etiquetas de salida.
+        for (int step = s; step != hub; step = out.next(step, hubRank)) {
+            path.add((V) vertices[step]);
+        }
+        // De v2 a la referencia, siguiendo los predecesores de las etiquetas de entrada.
+        List<V> tail = new ArrayList<>();
+        for (int step = t; step != hub; step = in.next(step, hubRank)) {
+            tail.add((V) vertices[step]);
+        }
+        path.add((V) vertices[hub]);
+        Collections.reverse(tail);
+        path.addAll(tail);
+        return path;
+    }
+
+    /**
+     * @return número total de entradas de las etiquetas.
+     */
+    public long labelEntries(){
+        return in.entries() + out.entries();
+    }
+
+    /**
+     * @return número medio de entradas por vértice (entrada más salida).
+     */
+    public double averageLabelSize(){
+        return vertices.length == 0 ? 0 : (double) labelEntries() / vertices.length;
+    }
+
+    /**
+     * @return tamaño aproximado de las etiquetas en memoria, en bytes.
+     */
+    public long sizeInBytes(){
+        return in.sizeInBytes() + out.sizeInBytes() + 4L * order.length;
+    }
+
+    /**
+     * @return tiempo de construcción del índice (o de su lectura), en nanosegundos.
+     */
+    public long buildNanos(){
+        return buildNanos;
+    }
+
+    /**
+     * @return resumen del índice: vértices, tamaño de las etiquetas y tiempo de construcción.
+     */
+    @Override
+    public String toString(){
+        return String.format(Locale.ROOT, "%d vertices, %d label entries (%.1f per vertex, %.1f MB) in %.1f ms",
+                vertices.length, labelEntries(), averageLabelSize(), sizeInBytes() / 1e6, buildNanos / 1e6);
+    }
+
+    /**
+     * Guarda el índice en `file`, sustituyéndolo si existe, para cargarlo después
+     * con {@link #read(Path, VertexCodec)} sin reconstruirlo.
+     *
+     * @param codec codificación de los vértices.
+     * @param file fichero destino.
+     * @throws IOException si no se puede escribir el fichero.
+     */
+    @SuppressWarnings("unchecked")
+    public void write(VertexCodec<V> codec, Path file) throws IOException{
+        try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+            stream.writeInt(vertices.length);
+            for (Object vertex : vertices) {
+                byte[] key = codec.encode((V) vertex);
+                stream.writeInt(key.length);
+                stream.write(key);
+            }
+            for (int landmark : order) {
+                stream.writeInt(landmark);
+            }
+            in.write(stream);
+            out.write(stream);
+        }
+    }
+
+    /**
+     * Carga un índice guardado con {@link #write(VertexCodec, Path)}.
+     *
+     * @param file fichero a leer.
+     * @param codec codificación de los vértices usada al escribirlo.
+     * @return el oráculo de distancias.
+     * @throws IOException si no se puede leer el fichero o no tiene un formato válido.
+     */
+    public static <V> DistanceOracle<V> read(Path file, VertexCodec<V> codec) throws IOException{
+        long start = System.nanoTime();
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (stream.readInt() != MAGIC) {
+                throw new IOException(file + ": not a distance oracle file.");
+            }
+            int version = stream.readInt();
+            if (version != VERSION) {
+                throw new IOException(file + ": unsupported distance oracle version " + version + ".");
+            }
+            int n = stream.readInt();
+            if (n < 0) {
+                throw new IOException(file + ": corrupted distance oracle header.");
+            }
+            Object[] vertices = new Object[n];
+            for (int id = 0; id < n; id++) {
+                byte[] key = new byte[stream.readInt()];
+                stream.readFully(key);
+                vertices[id] = codec.decode(key);
+            }
+            int[] order = new int[n];
+            for (int rank = 0; rank < n; rank++) {
+                order[rank] = stream.readInt();
+            }
+            Labels in = Labels.read(stream, n);
+            Labels out = Labels.read(stream, n);
+            return new DistanceOracle<>(vertices, order, in, out, System.nanoTime() - start);
+        } catch (EOFException | NegativeArraySizeException e) {
+            throw new IOException(file + ": truncated or corrupted distance oracle file.", e);
+        }
+    }
+
+    //Fusión de out(s) e in(t). Devuelve (distancia << 32 | rango de la referencia) de la
+    //mejor referencia común, o -1 si no hay ninguna.
+    private long bestHub(int s, int t){
+        int[] outHubs = out.hubs[s];
+        int[] outDistances = out.distances[s];
+        int[] inHubs = in.hubs[t];
+        int[] inDistances = in.distances[t];
+        long best = -1;
+        int i = 0;
+        int j = 0;
+        while (i < outHubs.length && j < inHubs.length) {
+            if (outHubs[i] < inHubs[j]) {
+                i++;
+            } else if (outHubs[i] > inHubs[j]) {
+                j++;
+            } else {
+                long candidate = (long) (outDistances[i] + inDistances[j]) << 32 | outHubs[i];
+                if (best < 0 || candidate < best) {
+                    best = candidate;
+                }
+                i++;
+                j++;
+            }
+        }
+        return best;
+    }
+
+    //Etiquetas de un sentido: para cada vértice, los rangos de sus referencias en
+    //orden creciente, la distancia a cada una y el vértice siguiente del camino hacia
+    //ella (predecesor en las de entrada, sucesor en las de salida; -1 en la propia).
+    private static final class Labels{
+        final int[][] hubs;
+        final int[][] distances;
+        final int[][] next;
+        //Entradas ocupadas de cada vértice durante la construcción.
+        private int[] counts;
+
+        Labels(int n){
+            hubs = new int[n][];
+            distances = new int[n][];
+            next = new int[n][];
+            counts = new int[n];
+        }
+
+        void add(int v, int hub, int distance, int via){
+            int count = counts[v];
+            if (hubs[v] == null) {
+                hubs[v] = new int[4];
+                distances[v] = new int[4];
+                next[v] = new int[4];
+            } else if (count == hubs[v].length) {
+                hubs[v] = Arrays.copyOf(hubs[v], count << 1);
+                distances[v] = Arrays.copyOf(distances[v], count << 1);
+                next[v] = Arrays.copyOf(next[v], count << 1);
+            }
+            hubs[v][count] = hub;
+            distances[v][count] = distance;
+            next[v][count] = via;
+            counts[v] = count + 1;
+        }
+
+        //Ajusta los arrays a su tamaño final y libera los contadores.
+        void trim(){
+            for (int v = 0; v < hubs.length; v++) {
+                hubs[v] = Arrays.copyOf(hubs[v], counts[v]);
+                distances[v] = Arrays.copyOf(distances[v], counts[v]);
+                next[v] = Arrays.copyOf(next[v], counts[v]);
+            }
+            counts = null;
+        }
+
+        //Siguiente vértice del camino de `v` hacia la referencia de rango `hub`.
+        int next(int v, int hub){
+            return next[v][Arrays.binarySearch(hubs[v], hub)];
+        }
+
+        long entries(){
+            long total = 0;
+            for (int[] label : hubs) {
+                total += label.length;
+            }
+            return total;
+        }
+
+        long sizeInBytes(){
+            // Tres arrays de int por vértice, con unos 16 bytes de cabecera cada uno.
+            return 12 * entries() + 48L * hubs.length;
+        }
+
+        void write(DataOutputStream stream) throws IOException{
+            for (int v = 0; v < hubs.length; v++) {
+                stream.writeInt(hubs[v].length);
+                for (int i = 0; i < hubs[v].length; i++) {
+                    stream.writeInt(hubs[v][i]);
+                    stream.writeInt(distances[v][i]);
+                    stream.writeInt(next[v][i]);
+                }
+            }
+        }
+
+        static Labels read(DataInputStream stream, int n) throws IOException{
+            Labels labels = new Labels(n);
+            for (int v = 0; v < n; v++) {
+                int count = stream.readInt();
+                labels.hubs[v] = new int[count];
+                labels.distances[v] = new int[count];
+                labels.next[v] = new int[count];
+                for (int i = 0; i < count; i++) {
+                    labels.hubs[v][i] = stream.readInt();
+                    labels.distances[v][i] = stream.readInt();
+                    labels.next[v][i] = stream.readInt();
+                }
+            }
+            labels.counts = null;
+            return labels;
+        }
+    }
+
+    //Arrays de trabajo de una BFS podada. Tras cada búsqueda quedan como al principio,
+    //así que las dos búsquedas de un trabajador pueden compartirlos si no van a la vez.
+    private static final class Scratch{
+        final int[] distance;
+        final int[] parent;
+        final int[] queue;
+        //landmarkDistance[rango] = distancia entre la referencia actual y esa referencia anterior.
+        final int[] landmarkDistance;
+
+        Scratch(int n){
+            distance = new int[n];
+            parent = new int[n];
+            queue = new int[n];
+            landmarkDistance = new int[n];
+            Arrays.fill(distance, -1);
+            Arrays.fill(landmarkDistance, Integer.MAX_VALUE);
+        }
+    }
+
+    //Búsquedas hacia delante y hacia atrás desde una misma referencia, en la misma tarea.
+    private static final class LandmarkSearch implements Runnable{
+        final PrunedSearch forward;
+        final PrunedSearch backward;
+
+        LandmarkSearch(PrunedSearch forward, PrunedSearch backward){
+            this.forward = forward;
+            this.backward = backward;
+        }
+
+        void prepare(int landmark, int rank){
+            forward.prepare(landmark, rank);
+            backward.prepare(landmark, rank);
+        }
+
+        @Override
+        public void run(){
+            forward.run();
+            backward.run();
+        }
+
+        //Añade a las etiquetas la propia referencia y lo encontrado por las dos búsquedas.
+        void commit(){
+            forward.labels.add(forward.landmark, forward.rank, 0, -1);
+            backward.labels.add(backward.landmark, backward.rank, 0, -1);
+            forward.commit();
+            backward.commit();
+        }
+    }
+
+    //BFS podada desde una referencia en un sentido. Sólo lee etiquetas y guarda lo que
+    //encuentra en sus propios arrays hasta commit(), así que varias búsquedas pueden
+    //ejecutarse a la vez mientras nadie añada entradas a las etiquetas.
+    private static final class PrunedSearch implements Runnable{
+        private final int[] offsets;
+        private final int[] targets;
+        //Etiquetas que se rellenan y etiquetas de la referencia con las que se poda.
+        final Labels labels;
+        private final Labels source;
+        private final int[] distance;
+        private final int[] parent;
+        private final int[] queue;
+        private final int[] landmarkDistance;
+        //Entradas encontradas por la última búsqueda: vértice, distancia y vértice anterior.
+        private int[] found = new int[48];
+        private int foundCount;
+        int landmark;
+        int rank;
+        int visited;
+
+        PrunedSearch(Scratch scratch, int[] offsets, int[] targets, Labels labels, Labels source){
+            this.offsets = offsets;
+            this.targets = targets;
+            this.labels = labels;
+            this.source = source;
+            this.distance = scratch.distance;
+            this.parent = scratch.parent;
+            this.queue = scratch.queue;
+            this.landmarkDistance = scratch.landmarkDistance;
+        }
+
+        void prepare(int landmark, int rank){
+            this.landmark = landmark;
+            this.rank = rank;
+            this.foundCount = 0;
+        }
+
+        @Override
+        public void run(){
+            int[] landmarkHubs = source.hubs[landmark];
+            int landmarkCount = source.counts[landmark];
+            for (int i = 0; i < landmarkCount; i++) {
+                landmarkDistance[landmarkHubs[i]] = source.distances[landmark][i];
+            }
+
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = landmark;
+            distance[landmark] = 0;
+            while (head < tail) {
+                int current = queue[head++];
+                int d = distance[current];
+                if (current != landmark) {
+                    if (covered(current, d)) {
+                        continue; // Poda: las referencias anteriores ya dan esta distancia
+                    }
+                    record(current, d, parent[current]);
+                }
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    if (distance[neighbor] < 0) {
+                        distance[neighbor] = d + 1;
+                        parent[neighbor] = current;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+
+            for (int i = 0; i < tail; i++) {
+                distance[queue[i]] = -1;
+            }
+            for (int i = 0; i < landmarkCount; i++) {
+                landmarkDistance[landmarkHubs[i]] = Integer.MAX_VALUE;
+            }
+            visited = tail;
+        }
+
+        //Añade a `labels` las entradas de la última búsqueda.
+        void commit(){
+            for (int i = 0; i < foundCount; i += 3) {
+                labels.add(found[i], rank, found[i + 1], found[i + 2]);
+            }
+            foundCount = 0;
+        }
+
+        private void record(int v, int d, int via){
+            if (foundCount + 3 > found.length) {
+                found = Arrays.copyOf(found, found.length << 1);
+            }
+            found[foundCount++] = v;
+            found[foundCount++] = d;
+            found[foundCount++] = via;
+        }
+
+        //Comprueba si alguna referencia anterior común ya da una distancia <= d.
+        private boolean covered(int v, int d){
+            int[] hubs = labels.hubs[v];
+            int[] distances = labels.distances[v];
+            for (int i = 0, count = labels.counts[v]; i < count; i++) {
+                int through = landmarkDistance[hubs[i]];
+                if (through != Integer.MAX_VALUE && through + distances[i] <= d) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
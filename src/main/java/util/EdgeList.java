@@ -0,0 +1,124 @@
+package util;
+
+import java.util.Locale;
+
+/**
+ * Lista de arcos cargada por {@link EdgeListLoader}, guardada en dos arrays
+ * paralelos de `int`, junto con las estadísticas de la carga. Permite construir
+ * con ella un {@link IntGraph} o un `Graph<Integer>` ya dimensionados.
+ */
+public final class EdgeList{
+
+    private final int[] sources;
+    private final int[] targets;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    EdgeList(int[] sources, int[] targets, long bytes, long elapsedNanos){
+        this.sources = sources;
+        this.targets = targets;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return número de arcos leídos (incluidos los repetidos).
+     */
+    public int size(){
+        return sources.length;
+    }
+
+    /**
+     * @param i posición del arco en el fichero, empezando en 0.
+     * @return origen del arco `i`.
+     */
+    public int source(int i){
+        return sources[i];
+    }
+
+    /**
+     * @param i posición del arco en el fichero, empezando en 0.
+     * @return destino del arco `i`.
+     */
+    public int target(int i){
+        return targets[i];
+    }
+
+    /**
+     * @return tamaño del fichero leído, en bytes.
+     */
+    public long bytes(){
+        return bytes;
+    }
+
+    /**
+     * @return tiempo de lectura y análisis del fichero, en nanosegundos.
+     */
+    public long elapsedNanos(){
+        return elapsedNanos;
+    }
+
+    /**
+     * @return arcos leídos por segundo.
+     */
+    public double edgesPerSecond(){
+        return sources.length / seconds();
+    }
+
+    /**
+     * @return bytes leídos por segundo.
+     */
+    public double bytesPerSecond(){
+        return bytes / seconds();
+    }
+
+    /**
+     * Construye un {@link IntGraph} con todos los arcos, dimensionado para no
+     * tener que ampliar la tabla de arcos durante la construcción.
+     *
+     * @return el grafo con los arcos de la lista.
+     */
+    public IntGraph toIntGraph(){
+        IntGraph graph = new IntGraph(estimatedVertices(), sources.length);
+        for (int i = 0; i < sources.length; i++) {
+            graph.addEdge(sources[i], targets[i]);
+        }
+        return graph;
+    }
+
+    /**
+     * Construye un `Graph<Integer>` con todos los arcos.
+     *
+     * @return el grafo con los arcos de la lista.
+     */
+    public Graph<Integer> toGraph(){
+        Graph<Integer> graph = new Graph<>(estimatedVertices());
+        for (int i = 0; i < sources.length; i++) {
+            graph.addEdge(sources[i], targets[i]);
+        }
+        return graph;
+    }
+
+    /**
+     * @return resumen de la carga: arcos, tamaño, tiempo y rendimiento.
+     */
+    @Override
+    public String toString(){
+        return String.format(Locale.ROOT, "%d edges, %.1f MB in %.1f ms (%.2f M edges/s, %.1f MB/s)",
+                sources.length, bytes / 1e6, elapsedNanos / 1e6, edgesPerSecond() / 1e6, bytesPerSecond() / 1e6);
+    }
+
+    private double seconds(){
+        return Math.max(elapsedNanos, 1) / 1e9;
+    }
+
+    //Cota superior barata del número de vértices distintos: el mayor valor absoluto
+    //leído más uno, limitada por el doble del número de arcos.
+    private int estimatedVertices(){
+        long max = 0;
+        for (int i = 0; i < sources.length; i++) {
+            max = Math.max(max, Math.max(Math.abs((long) sources[i]), Math.abs((long) targets[i])));
+        }
+        return (int) Math.min(max + 1, Math.min(2L * sources.length, Integer.MAX_VALUE - 8));
+    }
+}
@@ -0,0 +1,258 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Carga masiva de ficheros de texto con un arco por línea (`origen destino`,
+ * separados por espacios o tabuladores). Las líneas vacías y las que empiezan
+ * por `#` o `%` se ignoran, igual que cualquier columna a partir de la tercera.
+ *
+ * El fichero se proyecta en memoria con NIO y se divide en trozos que terminan
+ * en un salto de línea; cada trozo se analiza en paralelo directamente sobre su
+ * `MappedByteBuffer`, sin crear un `String` por línea, y los resultados se
+ * concatenan en el orden del fichero.
+ */
+public final class EdgeListLoader{
+
+    //Tamaño mínimo de cada trozo analizado por una tarea.
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    //Tamaño máximo: un MappedByteBuffer no puede superar Integer.MAX_VALUE bytes.
+    private static final long MAX_CHUNK_BYTES = 1 << 28;
+
+    private EdgeListLoader(){
+    }
+
+    /**
+     * Carga el fichero usando el `ForkJoinPool` común.
+     *
+     * @param file fichero de arcos.
+     * @return los arcos leídos y las estadísticas de la carga.
+     * @throws IOException si no se puede leer el fichero o su formato no es válido.
+     */
+    public static EdgeList load(Path file) throws IOException{
+        return load(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Carga el fichero analizando sus trozos en paralelo en `pool`.
+     *
+     * @param file fichero de arcos.
+     * @param pool pool en el que se analizan los trozos.
+     * @return los arcos leídos y las estadísticas de la carga.
+     * @throws IOException si no se puede leer el fichero o su formato no es válido.
+     */
+    public static EdgeList load(Path file, ForkJoinPool pool) throws IOException{
+        GraphEvents.BulkOperation event = GraphMetrics.enabled ? GraphMetrics.beginBulk() : null;
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size, pool.getParallelism());
+
+            List<ForkJoinTask<int[][]>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                tasks.add(pool.submit(new ChunkParser(channel, bounds[i], bounds[i + 1])));
+            }
+
+            int[][][] parts = new int[tasks.size()][][];
+            int total = 0;
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    parts[i] = tasks.get(i).join();
+                } catch (MalformedEdgeListException e) {
+                    throw new IOException(file + ": " + e.getMessage(), e);
+                }
+                total = Math.addExact(total, parts[i][2][0]);
+            }
+
+            int[] sources = new int[total];
+            int[] targets = new int[total];
+            int pos = 0;
+            for (int[][] part : parts) {
+                int count = part[2][0];
+                System.arraycopy(part[0], 0, sources, pos, count);
+                System.arraycopy(part[1], 0, targets, pos, count);
+                pos += count;
+            }
+            if (event != null) {
+                GraphMetrics.endBulk(event, "load " + file.getFileName(), total);
+            }
+            return new EdgeList(sources, targets, size, System.nanoTime() - start);
+        }
+    }
+
+    //Posiciones de inicio de cada trozo más la posición final. Cada trozo, salvo el
+    //último, termina justo después de un salto de línea.
+    private static long[] chunkBounds(FileChannel channel, long size, int parallelism) throws IOException{
+        long chunk = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / (parallelism * 4L) + 1));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = 0;
+        while (position + chunk < size) {
+            long end = nextLineStart(channel, position + chunk, size, probe);
+            if (end >= size) {
+                break;
+            }
+            bounds.add(end);
+            position = end;
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException{
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    //Analiza el trozo [from, to) del fichero. Devuelve {orígenes, destinos, {número de arcos}}.
+    private static final class ChunkParser extends RecursiveTask<int[][]>{
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+
+        ChunkParser(FileChannel channel, long from, long to){
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[][] compute(){
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            } catch (IOException e) {
+                throw new MalformedEdgeListException("cannot map bytes " + from + ".." + to + ": " + e.getMessage());
+            }
+            // Estimación inicial: unos 12 bytes por línea.
+            int capacity = (int) Math.max(16, (to - from) / 12);
+            int[] sources = new int[capacity];
+            int[] targets = new int[capacity];
+            int count = 0;
+
+            int limit = buffer.limit();
+            int i = 0;
+            while (i < limit) {
+                byte b = buffer.get(i);
+                if (b == '\n' || b == '\r' || b == ' ' || b == '\t') {
+                    i++;
+                    continue;
+                }
+                if (b == '#' || b == '%') {
+                    i = skipLine(buffer, i, limit);
+                    continue;
+                }
+                // Primera columna
+                long source = 0;
+                boolean negative = b == '-';
+                int j = negative ? i + 1 : i;
+                int digitsStart = j;
+                while (j < limit && isDigit(buffer.get(j))) {
+                    source = source * 10 + (buffer.get(j) - '0');
+                    if (source > 1L << 31) {
+                        throw malformed(i);
+                    }
+                    j++;
+                }
+                if (j == digitsStart || (j < limit && !isBlank(buffer.get(j)))) {
+                    throw malformed(i);
+                }
+                // Separador
+                while (j < limit && (buffer.get(j) == ' ' || buffer.get(j) == '\t')) {
+                    j++;
+                }
+                // Segunda columna
+                long target = 0;
+                boolean targetNegative = j < limit && buffer.get(j) == '-';
+                if (targetNegative) {
+                    j++;
+                }
+                digitsStart = j;
+                while (j < limit && isDigit(buffer.get(j))) {
+                    target = target * 10 + (buffer.get(j) - '0');
+                    if (target > 1L << 31) {
+                        throw malformed(i);
+                    }
+                    j++;
+                }
+                if (j == digitsStart || (j < limit && !isBlank(buffer.get(j)))) {
+                    throw malformed(i);
+                }
+                source = negative ? -source : source;
+                target = targetNegative ? -target : target;
+                if (source > Integer.MAX_VALUE || target > Integer.MAX_VALUE) {
+                    throw malformed(i);
+                }
+
+                if (count == sources.length) {
+                    sources = Arrays.copyOf(sources, count + (count >> 1));
+                    targets = Arrays.copyOf(targets, sources.length);
+                }
+                sources[count] = (int) source;
+                targets[count] = (int) target;
+                count++;
+                i = skipLine(buffer, j, limit);
+            }
+            return new int[][]{sources, targets, {count}};
+        }
+
+        private MalformedEdgeListException malformed(int offset){
+            return new MalformedEdgeListException("malformed edge at byte " + (from + offset));
+        }
+    }
+
+    private static int skipLine(ByteBuffer buffer, int i, int limit){
+        while (i < limit && buffer.get(i) != '\n') {
+            i++;
+        }
+        return i + 1;
+    }
+
+    private static boolean isDigit(byte b){
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(byte b){
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    //Error de formato dentro de una tarea; se convierte en IOException al unir los resultados.
+    private static final class MalformedEdgeListException extends RuntimeException{
+        private static final long serialVersionUID = 1L;
+
+        MalformedEdgeListException(String message){
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package util;
+
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Instantánea inmutable de un {@link Graph} en formato CSR (compressed sparse
+ * row). Cada vértice recibe un identificador denso en `[0, vertexCount())` y
+ * los adyacentes del vértice `i` ocupan `targets[offsets[i] .. offsets[i+1])`.
+ *
+ * Se obtiene con {@link Graph#freeze()} y ofrece la misma semántica que el grafo
+ * original para `containsVertex`, `obtainAdjacents` y `shortestPath`, pero las
+ * búsquedas recorren arrays primitivos en lugar de `HashMap`/`HashSet`. Es
+ * segura para consultas concurrentes: cada hilo reutiliza sus propios arrays de
+ * búsqueda (tres `int[vertexCount()]`, que conserva mientras viva la
+ * instantánea), así que una consulta no reserva ni recorre arrays de ese tamaño.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class FrozenGraph<V>{
+
+    //Diccionario de vértices: vértice -> identificador denso.
+    private final Map<V, Integer> ids;
+    //Vértice correspondiente a cada identificador.
+    private final Object[] vertices;
+    //Inicio de la lista de adyacentes de cada vértice (longitud vertexCount() + 1).
+    private final int[] offsets;
+    //Identificadores de los destinos de todos los arcos, agrupados por origen.
+    private final int[] targets;
+    //CSR inverso (arcos entrantes), calculado sólo cuando algún algoritmo lo necesita.
+    private volatile int[][] reverse;
+    //Arrays de búsqueda de cada hilo para shortestPath.
+    private final ThreadLocal<SearchBuffers> buffers = ThreadLocal.withInitial(SearchBuffers::new);
+
+    FrozenGraph(Map<V, Set<V>> adjacencyList){
+        int n = adjacencyList.size();
+        this.ids = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        this.vertices = new Object[n];
+        this.offsets = new int[n + 1];
+
+        int id = 0;
+        int edges = 0;
+        for (Map.Entry<V, Set<V>> entry : adjacencyList.entrySet()) {
+            ids.put(entry.getKey(), id);
+            vertices[id] = entry.getKey();
+            edges += entry.getValue().size();
+            id++;
+        }
+
+        this.targets = new int[edges];
+        int pos = 0;
+        // Se recorre el mapa en el mismo orden que al asignar los identificadores,
+        // de modo que offsets[i] corresponde al vértice i.
+        id = 0;
+        for (Set<V> adjacents : adjacencyList.values()) {
+            offsets[id++] = pos;
+            for (V w : adjacents) {
+                targets[pos++] = ids.get(w);
+            }
+        }
+        offsets[n] = pos;
+    }
+
+    /**
+     * @return número de vértices de la instantánea.
+     */
+    public int vertexCount(){
+        return vertices.length;
+    }
+
+    /**
+     * @return número de arcos de la instantánea.
+     */
+    public int edgeCount(){
+        return targets.length;
+    }
+
+    /**
+     * Obtiene el identificador denso de `v`.
+     *
+     * @param v vértice buscado.
+     * @return identificador en `[0, vertexCount())` o `-1` si `v` no está en el grafo.
+     */
+    public int idOf(V v){
+        Integer id = ids.get(v);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Obtiene el vértice asociado a un identificador denso.
+     *
+     * @param id identificador en `[0, vertexCount())`.
+     * @return el vértice con ese identificador.
+     */
+    @SuppressWarnings("unchecked")
+    public V vertexOf(int id){
+        return (V) vertices[id];
+    }
+
+    /**
+     * Comprueba si la instantánea contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` es un vértice del grafo.
+     */
+    public boolean containsVertex(V v){
+        return ids.containsKey(v);
+    }
+
+    /**
+     * Obtiene el conjunto de vértices adyacentes a `v`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return conjunto de vértices adyacentes.
+     * @throws Exception si el vértice no existe en el grafo.
+     */
+    public Set<V> obtainAdjacents(V v) throws Exception{
+        int id = idOf(v);
+        if (id < 0) {
+            throw new Exception("Vertex " + v + " not found in the graph.");
+        }
+        Set<V> adjacents = new HashSet<>();
+        for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+            adjacents.add(vertexOf(targets[i]));
+        }
+        return adjacents;
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino más corto entre
+     * `v1` y `v2`. En caso contrario, devuelve `null`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     **/
+    public List<V> shortestPath(V v1, V v2){
+        int source = idOf(v1);
+        int target = idOf(v2);
+        if (source < 0 || target < 0) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+
+        if (source == target) {
+            List<V> path = new ArrayList<>();
+            path.add(v1);
+            return path; // Camino de un vértice a sí mismo
+        }
+
+        SearchBuffers search = buffers.get();
+        search.prepare(vertices.length);
+        int[] queue = search.queue;
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = source;
+        search.visit(source, source);
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = targets[i];
+                if (!search.isVisited(neighbor)) {
+                    search.visit(neighbor, current);
+                    if (neighbor == target) {
+                        return buildPath(search.links, source, target);
+                    }
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return null; // No se encontró camino
+    }
+
+    //Reconstruye el camino desde `source` hasta `target` siguiendo los predecesores.
+    private List<V> buildPath(int[] predecessor, int source, int target){
+        List<V> path = new ArrayList<>();
+        for (int step = target; step != source; step = predecessor[step]) {
+            path.add(vertexOf(step));
+        }
+        path.add(vertexOf(source));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Calcula las distancias (en número de arcos) desde `source` a todos los
+     * vértices y el árbol de predecesores de la búsqueda en anchura, usando el
+     * `ForkJoinPool` común.
+     *
+     * @param source vértice origen.
+     * @return el árbol BFS con raíz en `source`, o `null` si `source` no existe.
+     * @see #bfsDistances(Object, ForkJoinPool)
+     */
+    public BFSTree<V> bfsDistances(V source){
+        return bfsDistances(source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula las distancias (en número de arcos) desde `source` a todos los
+     * vértices y el árbol de predecesores de la búsqueda en anchura. La búsqueda
+     * avanza nivel a nivel en paralelo sobre `pool` y en cada nivel elige entre
+     * expandir la frontera hacia adelante (top-down) o buscar un padre en la
+     * frontera para cada vértice no visitado (bottom-up), según el tamaño de la
+     * frontera.
+     *
+     * @param source vértice origen.
+     * @param pool pool en el que se ejecutan las tareas de cada nivel.
+     * @return el árbol BFS con raíz en `source`, o `null` si `source` no existe.
+     */
+    public BFSTree<V> bfsDistances(V source, ForkJoinPool pool){
+        int id = idOf(source);
+        if (id < 0) {
+            return null;
+        }
+        int[][] in = reverse();
+        ParallelBFS bfs = new ParallelBFS(offsets, targets, in[0], in[1]);
+        bfs.run(id, pool);
+        return new BFSTree<>(this, id, bfs.distance(), bfs.parent());
+    }
+
+    //Acceso directo a la estructura CSR para los algoritmos del paquete.
+    int[] offsets(){
+        return offsets;
+    }
+
+    int[] targets(){
+        return targets;
+    }
+
+    //Devuelve {inOffsets, inSources}: los orígenes de los arcos que llegan al vértice i
+    //ocupan inSources[inOffsets[i] .. inOffsets[i+1]).
+    int[][] reverse(){
+        int[][] result = reverse;
+        if (result == null) {
+            synchronized (this) {
+                result = reverse;
+                if (result == null) {
+                    result = reverse = buildReverse();
+                }
+            }
+        }
+        return result;
+    }
+
+    private int[][] buildReverse(){
+        int n = vertices.length;
+        int[] inOffsets = new int[n + 1];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] inSources = new int[targets.length];
+        int[] next = Arrays.copyOf(inOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                inSources[next[targets[i]]++] = v;
+            }
+        }
+        return new int[][]{inOffsets, inSources};
+    }
+}
@@ -1,17 +1,62 @@
 package util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.function.Consumer;
 
 public class Graph<V>{
 
+    //Componentes del DAG que addEdge puede expandir para decidir si conserva el índice de alcanzabilidad.
+    static final int REACHABILITY_INSERT_BUDGET = 64;
+
     //Lista de adyacencia.
-    private Map<V, Set<V>> adjacencyList = new HashMap<>();
+    private Map<V, Set<V>> adjacencyList;
+    //Lista de adyacencia inversa: para cada vértice, los orígenes de sus arcos entrantes.
+    private Map<V, Set<V>> reverseAdjacencyList;
+    //Contador de modificaciones: aumenta cada vez que se añade o elimina un vértice o un arco.
+    private long modCount;
+    //Última instantánea usada por bfsDistances, o null; vale mientras modCount siga en frozenVersion.
+    private FrozenGraph<V> frozen;
+    private long frozenVersion;
+    //Orígenes registrados, con sus distancias mantenidas al añadir arcos.
+    private final Map<V, IncrementalDistances<V>> registeredSources = new HashMap<>();
+    //Índice de alcanzabilidad, o null si no se ha construido o un cambio lo ha invalidado.
+    private ReachabilityIndex<V> reachability;
+    //Modo de borrado diferido: las eliminaciones se marcan y se aplican juntas en compact().
+    private boolean tombstoneMode;
+    //Vértices y arcos (origen -> destinos) marcados como eliminados, pendientes de compact().
+    private final Set<V> deadVertices = new HashSet<>();
+    private final Map<V, Set<V>> deadEdges = new HashMap<>();
+
+    public Graph(){
+        adjacencyList = new HashMap<>();
+        reverseAdjacencyList = new HashMap<>();
+    }
+
+    /**
+     * Crea un grafo vacío con capacidad para `expectedVertices` vértices sin
+     * redimensionar sus tablas internas, útil en cargas masivas.
+     *
+     * @param expectedVertices número esperado de vértices.
+     */
+    public Graph(int expectedVertices){
+        int capacity = (int) Math.min((long) Math.max(expectedVertices, 12) * 4 / 3 + 1, 1 << 30);
+        adjacencyList = new HashMap<>(capacity);
+        reverseAdjacencyList = new HashMap<>(capacity);
+    }
 
     /**
      * Añade el vértice `v` al grafo.
@@ -20,10 +65,14 @@ public class Graph<V>{
      * @return `true` si no estaba anteriormente y `false` en caso contrario.
      */
     public boolean addVertex(V v){
+        compact();
         if (adjacencyList.containsKey(v)) {
             return false;
         }
         adjacencyList.put(v, new HashSet<>());
+        reverseAdjacencyList.put(v, new HashSet<>());
+        modCount++;
+        reachability = null;
         return true;
     }
 
@@ -36,6 +85,17 @@ public class Graph<V>{
      * @return `true` si no existía el arco y `false` en caso contrario.
      */
     public boolean addEdge(V v1, V v2){
+        if (!GraphMetrics.enabled) {
+            return insertEdge(v1, v2);
+        }
+        GraphEvents.AddEdge event = GraphMetrics.beginAddEdge();
+        boolean added = insertEdge(v1, v2);
+        GraphMetrics.endAddEdge(event, v1, v2, added);
+        return added;
+    }
+
+    private boolean insertEdge(V v1, V v2){
+        compact();
         // Asegurar que los vértices existan, añadiéndolos si no
         addVertex(v1); // El valor de retorno no es crítico aquí, solo nos aseguramos de que existan.
         addVertex(v2);
@@ -46,9 +106,207 @@ public class Graph<V>{
             return false; // El arco ya existía
         }
         adjacentsOfV1.add(v2);
+        reverseAdjacencyList.get(v2).add(v1);
+        modCount++;
+        // Con una búsqueda acotada: si no se demuestra a tiempo que el camino ya existía, se descarta el índice
+        if (reachability != null && !reachability.isReachableWithin(v1, v2, REACHABILITY_INSERT_BUDGET)) {
+            reachability = null; // El arco crea caminos nuevos, o no se ha podido decidir
+        }
+        for (IncrementalDistances<V> distances : registeredSources.values()) {
+            distances.edgeAdded(adjacencyList, v1, v2);
+        }
+        return true;
+    }
+
+    /**
+     * Elimina el arco `v1 -> v2`. En modo de borrado diferido (ver
+     * {@link #setTombstoneMode(boolean)}) sólo lo marca como eliminado.
+     *
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @return `true` si el arco existía y `false` en caso contrario.
+     */
+    public boolean removeEdge(V v1, V v2){
+        if (tombstoneMode) {
+            Set<V> adjacents = adjacencyList.get(v1);
+            if (adjacents == null || !adjacents.contains(v2) || deadVertices.contains(v1) || deadVertices.contains(v2)) {
+                return false;
+            }
+            return deadEdges.computeIfAbsent(v1, k -> new HashSet<>()).add(v2);
+        }
+        compact();
+        if (!unlinkEdge(v1, v2)) {
+            return false;
+        }
+        modCount++;
+        reachability = null; // Puede haber dejado de existir algún camino
+        for (Map.Entry<V, IncrementalDistances<V>> entry : registeredSources.entrySet()) {
+            if (entry.getValue().usesEdge(v1, v2)) {
+                entry.setValue(new IncrementalDistances<>(adjacencyList, entry.getKey()));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Elimina el vértice `v` y todos sus arcos entrantes y salientes. Sólo se
+     * tocan los conjuntos de adyacentes de sus vecinos, localizados con la lista
+     * de adyacencia inversa, así que el coste es proporcional a su grado. Si `v`
+     * era un origen registrado, deja de serlo. En modo de borrado diferido (ver
+     * {@link #setTombstoneMode(boolean)}) sólo lo marca como eliminado.
+     *
+     * @param v vértice a eliminar.
+     * @return `true` si el vértice existía y `false` en caso contrario.
+     */
+    public boolean removeVertex(V v){
+        if (tombstoneMode) {
+            return adjacencyList.containsKey(v) && deadVertices.add(v);
+        }
+        compact();
+        if (!adjacencyList.containsKey(v)) {
+            return false;
+        }
+        registeredSources.remove(v);
+        List<V> affected = new ArrayList<>();
+        for (Map.Entry<V, IncrementalDistances<V>> entry : registeredSources.entrySet()) {
+            if (entry.getValue().dependsOn(adjacencyList, v)) {
+                affected.add(entry.getKey());
+            } else {
+                entry.getValue().forget(v); // Hoja del árbol: las demás distancias no cambian
+            }
+        }
+        unlinkVertex(v);
+        modCount++;
+        reachability = null;
+        for (V source : affected) {
+            registeredSources.put(source, new IncrementalDistances<>(adjacencyList, source));
+        }
         return true;
     }
 
+    /**
+     * Activa o desactiva el modo de borrado diferido, pensado para eliminar
+     * muchos vértices o arcos seguidos. En este modo `removeVertex` y
+     * `removeEdge` sólo marcan lo eliminado (una lápida) en tiempo constante, y
+     * la eliminación se aplica en {@link #compact()}: de una vez para todo el
+     * lote se actualizan las listas de adyacencia, se recalculan los orígenes
+     * registrados afectados y se invalidan el índice de alcanzabilidad y las
+     * cachés. Cualquier otra operación sobre el grafo compacta antes, así que
+     * sólo se agrupan las eliminaciones consecutivas; intercalar consultas entre
+     * ellas las aplica una a una. Las consultas del grafo y los recorridos de
+     * {@link #newTraversal()} no ven lo marcado, pero las vistas ya obtenidas con
+     * {@link #adjacentsView(Object)} leen las listas de adyacencia directamente y
+     * siguen mostrando los arcos marcados hasta la siguiente compactación.
+     * Desactivar el modo compacta lo pendiente.
+     *
+     * @param enabled `true` para diferir las eliminaciones.
+     */
+    public void setTombstoneMode(boolean enabled){
+        tombstoneMode = enabled;
+        if (!enabled) {
+            compact();
+        }
+    }
+
+    /**
+     * @return `true` si las eliminaciones se difieren hasta `compact()`.
+     */
+    public boolean isTombstoneMode(){
+        return tombstoneMode;
+    }
+
+    /**
+     * @return número de vértices y arcos marcados como eliminados pendientes de `compact()`.
+     */
+    public int pendingRemovals(){
+        int pending = deadVertices.size();
+        for (Set<V> targets : deadEdges.values()) {
+            pending += targets.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Aplica las eliminaciones marcadas en modo de borrado diferido. No hace
+     * nada si no hay ninguna pendiente.
+     */
+    public void compact(){
+        if (deadVertices.isEmpty() && deadEdges.isEmpty()) {
+            return;
+        }
+        for (V v : deadVertices) {
+            registeredSources.remove(v);
+        }
+        // Los orígenes afectados se detectan antes de tocar las listas de adyacencia.
+        List<V> affected = new ArrayList<>();
+        for (Map.Entry<V, IncrementalDistances<V>> entry : registeredSources.entrySet()) {
+            if (affects(entry.getValue())) {
+                affected.add(entry.getKey());
+            } else {
+                for (V v : deadVertices) {
+                    entry.getValue().forget(v);
+                }
+            }
+        }
+        for (Map.Entry<V, Set<V>> entry : deadEdges.entrySet()) {
+            for (V target : entry.getValue()) {
+                unlinkEdge(entry.getKey(), target);
+            }
+        }
+        for (V v : deadVertices) {
+            unlinkVertex(v);
+        }
+        deadVertices.clear();
+        deadEdges.clear();
+        modCount++;
+        reachability = null;
+        for (V source : affected) {
+            registeredSources.put(source, new IncrementalDistances<>(adjacencyList, source));
+        }
+    }
+
+    //Indica si alguna eliminación pendiente cambia las distancias desde un origen registrado.
+    private boolean affects(IncrementalDistances<V> distances){
+        for (V v : deadVertices) {
+            if (distances.dependsOn(adjacencyList, v)) {
+                return true;
+            }
+        }
+        for (Map.Entry<V, Set<V>> entry : deadEdges.entrySet()) {
+            for (V target : entry.getValue()) {
+                if (distances.usesEdge(entry.getKey(), target)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean unlinkEdge(V v1, V v2){
+        Set<V> adjacents = adjacencyList.get(v1);
+        if (adjacents == null || !adjacents.remove(v2)) {
+            return false;
+        }
+        reverseAdjacencyList.get(v2).remove(v1);
+        return true;
+    }
+
+    //Quita `v` (que debe existir) y sus arcos, tocando sólo los conjuntos de sus vecinos.
+    private void unlinkVertex(V v){
+        Set<V> outgoing = adjacencyList.remove(v);
+        Set<V> incoming = reverseAdjacencyList.remove(v);
+        for (V w : outgoing) {
+            if (!w.equals(v)) {
+                reverseAdjacencyList.get(w).remove(v);
+            }
+        }
+        for (V u : incoming) {
+            if (!u.equals(v)) {
+                adjacencyList.get(u).remove(v);
+            }
+        }
+    }
+
     /**
      * Obtiene el conjunto de vértices adyacentes a `v`.
      *
@@ -57,6 +315,7 @@ public class Graph<V>{
      * @throws Exception si el vértice no existe en el grafo.
      */
     public Set<V> obtainAdjacents(V v) throws Exception{
+        compact();
         if (!adjacencyList.containsKey(v)) {
             throw new Exception("Vertex " + v + " not found in the graph.");
         }
@@ -64,6 +323,50 @@ public class Graph<V>{
         return new HashSet<>(adjacencyList.get(v));
     }
 
+    /**
+     * Obtiene una vista de sólo lectura de los adyacentes de `v`, sin copiarlos.
+     * La vista refleja los arcos que se añadan después; en modo de borrado
+     * diferido, los arcos marcados siguen en ella hasta `compact()`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return vista no modificable del conjunto de adyacentes.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public Set<V> adjacentsView(V v){
+        return Collections.unmodifiableSet(adjacentsOf(v));
+    }
+
+    /**
+     * Ejecuta `action` con cada adyacente de `v`, sin crear ninguna colección.
+     *
+     * @param v vértice del que se recorren los adyacentes.
+     * @param action acción que se ejecuta con cada adyacente.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public void forEachAdjacent(V v, Consumer<? super V> action){
+        adjacentsOf(v).forEach(action);
+    }
+
+    /**
+     * @param v vértice.
+     * @return número de arcos salientes de `v`.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public int outDegree(V v){
+        return adjacentsOf(v).size();
+    }
+
+    /**
+     * Crea un contexto de recorrido reutilizable sobre este grafo. Cada hilo
+     * debe usar su propio contexto.
+     *
+     * @return un contexto nuevo para recorridos BFS/DFS y caminos más cortos.
+     */
+    public Traversal<V> newTraversal(){
+        compact();
+        return new Traversal<>(adjacencyList, this::compact);
+    }
+
     /**
      * Comprueba si el grafo contiene el vértice dado.
      *
@@ -71,49 +374,187 @@ public class Graph<V>{
      * @return `true` si `v` es un vértice del grafo.
      */
     public boolean containsVertex(V v){
+        compact();
         return adjacencyList.containsKey(v);
     }
 
+    /**
+     * Registra `source` como origen frecuente de consultas. A partir de ahora
+     * sus distancias y predecesores se mantienen al día en cada `addEdge`,
+     * propagando sólo la zona cuyas distancias mejoran, y `shortestPath` desde
+     * `source` se limita a reconstruir el camino.
+     *
+     * @param source vértice origen.
+     * @return `true` si no estaba registrado y `false` en caso contrario.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public boolean registerSource(V source){
+        adjacentsOf(source);
+        if (registeredSources.containsKey(source)) {
+            return false;
+        }
+        registeredSources.put(source, new IncrementalDistances<>(adjacencyList, source));
+        return true;
+    }
+
+    /**
+     * Deja de mantener las distancias desde `source`.
+     *
+     * @param source vértice origen.
+     * @return `true` si estaba registrado y `false` en caso contrario.
+     */
+    public boolean unregisterSource(V source){
+        return registeredSources.remove(source) != null;
+    }
+
+    /**
+     * Obtiene la distancia desde un origen registrado sin recorrer el grafo.
+     *
+     * @param source origen registrado con {@link #registerSource(Object)}.
+     * @param target vértice destino.
+     * @return número de arcos del camino más corto, o -1 si `target` no es
+     * alcanzable o no existe.
+     * @throws IllegalArgumentException si `source` no está registrado.
+     */
+    public int distanceFrom(V source, V target){
+        compact();
+        IncrementalDistances<V> registered = registeredSources.get(source);
+        if (registered == null) {
+            throw new IllegalArgumentException("Vertex " + source + " is not a registered source.");
+        }
+        return registered.distance(target);
+    }
+
+    /**
+     * Comprueba si existe un camino de `v1` a `v2`. La primera consulta construye
+     * un {@link ReachabilityIndex} que se reutiliza mientras los arcos añadidos no
+     * creen caminos nuevos; añadir un vértice o un arco entre vértices que antes no
+     * se alcanzaban, o eliminar cualquier vértice o arco, lo invalida. Mientras el índice es válido, `shortestPath`
+     * descarta con él los pares inalcanzables sin hacer ninguna búsqueda. Para que `addEdge` tenga
+     * coste acotado, sólo conserva el índice si demuestra el camino previo expandiendo unas pocas
+     * componentes; si no lo consigue, lo descarta aunque el camino existiera.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return `true` si `v2` es alcanzable desde `v1`; `false` si no lo es o
+     * alguno de los vértices no existe.
+     */
+    public boolean isReachable(V v1, V v2){
+        if (!containsVertex(v1) || !containsVertex(v2)) {
+            return false;
+        }
+        if (reachability == null) {
+            reachability = ReachabilityIndex.build(this);
+        }
+        return reachability.isReachable(v1, v2);
+    }
+
+    /**
+     * Crea una instantánea inmutable del grafo en formato CSR, adecuada para
+     * cargas de trabajo con muchas consultas y ninguna modificación. Los cambios
+     * posteriores en este grafo no afectan a la instantánea.
+     *
+     * @return la instantánea del estado actual del grafo.
+     */
+    public FrozenGraph<V> freeze(){
+        compact();
+        if (!GraphMetrics.enabled) {
+            return new FrozenGraph<>(adjacencyList);
+        }
+        GraphEvents.BulkOperation event = GraphMetrics.beginBulk();
+        FrozenGraph<V> frozen = new FrozenGraph<>(adjacencyList);
+        GraphMetrics.endBulk(event, "freeze", frozen.edgeCount());
+        return frozen;
+    }
+
+    /**
+     * Calcula las distancias desde `source` a todos los vértices del grafo con
+     * una única búsqueda en anchura paralela sobre una instantánea CSR. La
+     * instantánea se guarda y se reutiliza en las llamadas siguientes hasta que
+     * el grafo cambie, así que una serie de consultas sin modificaciones entre
+     * ellas sólo paga una vez {@link #freeze()}.
+     *
+     * @param source vértice origen.
+     * @return el árbol BFS con las distancias y los predecesores, o `null` si
+     * `source` no existe en el grafo.
+     * @see FrozenGraph#bfsDistances(Object)
+     */
+    public BFSTree<V> bfsDistances(V source){
+        if (!containsVertex(source)) {
+            return null;
+        }
+        return snapshot().bfsDistances(source);
+    }
+
+    //Instantánea del estado actual, reconstruida sólo si el grafo ha cambiado desde la anterior.
+    private FrozenGraph<V> snapshot(){
+        compact();
+        if (frozen == null || frozenVersion != modCount) {
+            frozen = freeze();
+            frozenVersion = modCount;
+        }
+        return frozen;
+    }
+
+    /**
+     * Escribe el grafo en `out` de forma incremental, sin construir la cadena
+     * completa: el texto pasa por un único búfer de tamaño acotado.
+     *
+     * @param out destino del texto (por ejemplo, un `Writer` o un `StringBuilder`).
+     * @param format formato de salida.
+     * @param sorted si es `true` y los vértices son comparables, se escriben
+     * ordenados (vértices y adyacentes); si es `false`, en el orden de las tablas.
+     * @throws IOException si falla la escritura en `out`.
+     */
+    public void writeTo(Appendable out, GraphFormat format, boolean sorted) throws IOException{
+        compact();
+        if (!GraphMetrics.enabled) {
+            GraphWriter.write(adjacencyList, out, format, sorted);
+            return;
+        }
+        GraphEvents.BulkOperation event = GraphMetrics.beginBulk();
+        GraphWriter.write(adjacencyList, out, format, sorted);
+        GraphMetrics.endBulk(event, "writeTo " + format, adjacencyList.size());
+    }
+
+    /**
+     * Escribe el grafo en `channel` codificado en UTF-8. El canal no se cierra.
+     *
+     * @param channel canal de destino (por ejemplo, un `FileChannel`).
+     * @param format formato de salida.
+     * @param sorted si se escriben ordenados los vértices y sus adyacentes.
+     * @throws IOException si falla la escritura en el canal.
+     * @see #writeTo(Appendable, GraphFormat, boolean)
+     */
+    public void writeTo(WritableByteChannel channel, GraphFormat format, boolean sorted) throws IOException{
+        Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), GraphWriter.BUFFER_CHARS);
+        writeTo(writer, format, sorted);
+        writer.flush();
+    }
+
     /**
      * Método `toString()` reescrito para la clase `Grafo.java`.
      * @return una cadena de caracteres con la lista de adyacencia.
+     * @see #writeTo(Appendable, GraphFormat, boolean)
      */
     @Override
     public String toString(){
         StringBuilder sb = new StringBuilder();
-        // Para una salida más consistente, podemos ordenar las claves si son comparables
-        List<V> vertices = new ArrayList<>(adjacencyList.keySet());
         try {
-            // Intenta ordenar si V es Comparable
-            if (!vertices.isEmpty() && vertices.get(0) instanceof Comparable) {
-                vertices.sort((v1, v2) -> ((Comparable<V>) v1).compareTo(v2));
-            }
-        } catch (ClassCastException e) {
-            // No se puede ordenar, continuar con el orden del HashMap
-        }
-
-
-        for (V vertex : vertices) {
-            sb.append(vertex.toString()).append("=");
-            Set<V> adjacents = adjacencyList.get(vertex);
-            // Ordenar también los adyacentes para una salida consistente
-            List<V> sortedAdjacents = new ArrayList<>(adjacents);
-            try {
-                if (!sortedAdjacents.isEmpty() && sortedAdjacents.get(0) instanceof Comparable) {
-                    sortedAdjacents.sort((v1, v2) -> ((Comparable<V>) v1).compareTo(v2));
-                }
-            } catch (ClassCastException e) {
-                // No se puede ordenar, continuar con el orden del Set
-            }
-            sb.append(sortedAdjacents.toString()); // toString de List es [elem1, elem2]
-            sb.append("\n");
+            // Vértices y adyacentes ordenados para una salida consistente
+            writeTo(sb, GraphFormat.ADJACENCY_LIST, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder no lanza IOException
         }
         return sb.toString();
     }
 
     /**
      * Obtiene, en caso de que exista, el camino más corto entre
-     * `v1` y `v2`. En caso contrario, devuelve `null`.
+     * `v1` y `v2`. En caso contrario, devuelve `null`. Si `v1` es un origen
+     * registrado, el camino se reconstruye sin recorrer el grafo, y si hay un
+     * índice de alcanzabilidad válido, los pares inalcanzables se descartan sin
+     * búsqueda (ver {@link #isReachable(Object, Object)}).
      *
      * @param v1 el vértice origen.
      * @param v2 el vértice destino.
@@ -121,10 +562,170 @@ public class Graph<V>{
      * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
      **/
     public List<V> shortestPath(V v1, V v2){
+        if (!GraphMetrics.enabled) {
+            return searchPath(v1, v2, null);
+        }
+        GraphEvents.ShortestPath event = GraphMetrics.beginShortestPath();
+        long[] stats = new long[3];
+        List<V> path = searchPath(v1, v2, stats);
+        GraphMetrics.endShortestPath(event, v1, v2, stats[0], stats[1], stats[2], path);
+        return path;
+    }
+
+    /**
+     * Obtiene el camino más corto entre `v1` y `v2` respetando los límites de
+     * `options`: la búsqueda en anchura se detiene al superar la profundidad o el
+     * número de vértices visitados permitidos, al vencer el plazo o al cancelarse
+     * el token. El plazo y la cancelación se comprueban cada 256 vértices
+     * extraídos y cada 256 arcos recorridos, así que la consulta puede excederse
+     * brevemente.
+     *
+     * Igual que `shortestPath(v1, v2)`, descarta los pares inalcanzables con el
+     * índice de alcanzabilidad si es válido y, salvo que se limite el número de
+     * vértices visitados, usa las distancias de los orígenes registrados; en ese
+     * caso no se recorre el grafo y las estadísticas de lo explorado son cero.
+     * Con las métricas activas ({@link GraphMetrics#enable()}), la consulta se
+     * registra igual que `shortestPath(v1, v2)`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @param options límites de la consulta.
+     * @return el resultado: `FOUND` con el camino, `UNREACHABLE` si se ha
+     * demostrado que no hay camino (o algún vértice no existe) o
+     * `BUDGET_EXHAUSTED` con el límite agotado; siempre con las estadísticas de
+     * lo explorado.
+     */
+    public PathResult<V> shortestPath(V v1, V v2, PathQueryOptions options){
+        if (!GraphMetrics.enabled) {
+            return boundedSearch(v1, v2, options, null);
+        }
+        GraphEvents.ShortestPath event = GraphMetrics.beginShortestPath();
+        long[] stats = new long[3];
+        PathResult<V> result = boundedSearch(v1, v2, options, stats);
+        GraphMetrics.endShortestPath(event, v1, v2, stats[0], stats[1], stats[2], result.path());
+        return result;
+    }
+
+    //Búsqueda de `shortestPath` con límites. Si `stats` no es null, guarda en él
+    //los vértices extraídos, los arcos recorridos y el mayor tamaño de la frontera.
+    private PathResult<V> boundedSearch(V v1, V v2, PathQueryOptions options, long[] stats){
+        long start = System.nanoTime();
+        if (!containsVertex(v1) || !containsVertex(v2)
+                || (reachability != null && !reachability.isReachable(v1, v2))) {
+            return new PathResult<>(PathResult.Status.UNREACHABLE, null, null, 0, 0, 0, System.nanoTime() - start);
+        }
+        if (v1.equals(v2)) {
+            List<V> path = new ArrayList<>();
+            path.add(v1);
+            return new PathResult<>(PathResult.Status.FOUND, null, path, 1, 0, 0,
+                    System.nanoTime() - start); // Camino de un vértice a sí mismo
+        }
+
+        long deadline = options.deadline(start);
+        CancellationToken cancellation = options.cancellation();
+        IncrementalDistances<V> registered = registeredSources.get(v1);
+        if (registered != null && options.maxVisited() == Integer.MAX_VALUE) {
+            // Origen registrado: no se recorre el grafo, así que sólo aplican la
+            // profundidad, el plazo y la cancelación
+            PathResult.Limit limit = expiredLimit(cancellation, deadline);
+            if (limit != null) {
+                return new PathResult<>(PathResult.Status.BUDGET_EXHAUSTED, limit, null, 0, 0, 0,
+                        System.nanoTime() - start);
+            }
+            List<V> path = registered.pathTo(v2);
+            if (path == null) {
+                return new PathResult<>(PathResult.Status.UNREACHABLE, null, null, 0, 0, 0, System.nanoTime() - start);
+            }
+            if (path.size() - 1 > options.maxDepth()) {
+                return new PathResult<>(PathResult.Status.BUDGET_EXHAUSTED, PathResult.Limit.DEPTH, null, 0, 0,
+                        options.maxDepth(), System.nanoTime() - start);
+            }
+            return new PathResult<>(PathResult.Status.FOUND, null, path, 0, 0, path.size() - 1, System.nanoTime() - start);
+        }
+
+        Map<V, V> predecessors = new HashMap<>(); // Clave = vértice visitado, Valor = predecesor
+        predecessors.put(v1, null);
+        List<V> frontier = new ArrayList<>();
+        frontier.add(v1);
+        long edgesScanned = 0;
+        long dequeued = 0;
+        int frontierPeak = 1;
+        int depth = 0;
+        PathResult.Limit limit = null;
+        List<V> path = null;
+        search:
+        while (!frontier.isEmpty()) {
+            if (depth == options.maxDepth()) {
+                limit = PathResult.Limit.DEPTH;
+                break;
+            }
+            frontierPeak = Math.max(frontierPeak, frontier.size());
+            List<V> next = new ArrayList<>();
+            for (V current : frontier) {
+                if ((dequeued++ & 255) == 0 && (limit = expiredLimit(cancellation, deadline)) != null) {
+                    break search;
+                }
+                for (V neighbor : adjacencyList.get(current)) {
+                    // También dentro del bucle de vecinos, por los vértices de grado muy alto
+                    if ((++edgesScanned & 255) == 0 && (limit = expiredLimit(cancellation, deadline)) != null) {
+                        break search;
+                    }
+                    if (!predecessors.containsKey(neighbor)) {
+                        if (predecessors.size() == options.maxVisited()) {
+                            limit = PathResult.Limit.VISITED;
+                            break search;
+                        }
+                        predecessors.put(neighbor, current);
+                        if (neighbor.equals(v2)) {
+                            path = buildPath(predecessors, v1, v2);
+                            depth++;
+                            break search;
+                        }
+                        next.add(neighbor);
+                    }
+                }
+            }
+            frontier = next;
+            depth++;
+        }
+        if (stats != null) {
+            stats[0] = dequeued;
+            stats[1] = edgesScanned;
+            stats[2] = frontierPeak;
+        }
+        PathResult.Status status = path != null ? PathResult.Status.FOUND
+                : limit == null ? PathResult.Status.UNREACHABLE : PathResult.Status.BUDGET_EXHAUSTED;
+        return new PathResult<>(status, limit, path, predecessors.size(), edgesScanned, depth, System.nanoTime() - start);
+    }
+
+    //Límite agotado por cancelación o plazo vencido, o null si la consulta puede seguir.
+    private static PathResult.Limit expiredLimit(CancellationToken cancellation, long deadline){
+        if (cancellation != null && cancellation.isCancelled()) {
+            return PathResult.Limit.CANCELLED;
+        }
+        if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+            return PathResult.Limit.DEADLINE;
+        }
+        return null;
+    }
+
+    //Búsqueda de `shortestPath`. Si `stats` no es null, guarda en él los vértices
+    //extraídos de la cola, los arcos recorridos y el mayor tamaño de la cola.
+    private List<V> searchPath(V v1, V v2, long[] stats){
+        compact();
         if (!containsVertex(v1) || !containsVertex(v2)) {
             return null; // Uno o ambos vértices no están en el grafo
         }
 
+        if (reachability != null && !reachability.isReachable(v1, v2)) {
+            return null; // El índice garantiza que no hay camino
+        }
+
+        IncrementalDistances<V> registered = registeredSources.get(v1);
+        if (registered != null) {
+            return registered.pathTo(v2); // Origen registrado: sólo hay que reconstruir el camino
+        }
+
         if (v1.equals(v2)) {
             List<V> path = new ArrayList<>();
             path.add(v1);
@@ -138,52 +739,235 @@ public class Graph<V>{
         queue.offer(v1);
         visited.add(v1);
 
+        long dequeued = 0;
+        long edgesScanned = 0;
+        int frontierPeak = 1;
         boolean pathFound = false;
         while (!queue.isEmpty()) {
             V current = queue.poll();
+            dequeued++;
 
             if (current.equals(v2)) {
                 pathFound = true;
                 break; // Camino encontrado, salir del bucle BFS
             }
 
-            try {
-                // obtainAdjacents puede lanzar Exception, pero ya hemos verificado que 'current' está en el grafo
-                // porque solo se añaden a la cola vértices visitados/existentes.
-                for (V neighbor : adjacencyList.get(current)) { // Acceso directo más eficiente que obtainAdjacents() que crea copia
-                    if (!visited.contains(neighbor)) {
-                        visited.add(neighbor);
-                        predecessorMap.put(neighbor, current);
-                        queue.offer(neighbor);
-                    }
+            Set<V> adjacents = adjacencyList.get(current); // Acceso directo, sin la copia de obtainAdjacents()
+            edgesScanned += adjacents.size();
+            for (V neighbor : adjacents) {
+                if (!visited.contains(neighbor)) {
+                    visited.add(neighbor);
+                    predecessorMap.put(neighbor, current);
+                    queue.offer(neighbor);
                 }
-            } catch (Exception e) {
-                // Teóricamente, no debería llegar aquí si la lógica es correcta y 'current' siempre existe.
-                // Esta captura sería para un caso muy inesperado.
-                System.err.println("Error inesperado durante BFS: " + e.getMessage());
-                return null; // Indica un error en la lógica interna.
             }
+            frontierPeak = Math.max(frontierPeak, queue.size());
+        }
+        if (stats != null) {
+            stats[0] = dequeued;
+            stats[1] = edgesScanned;
+            stats[2] = frontierPeak;
         }
 
         if (!pathFound) {
             return null; // No se encontró camino
         }
 
-        // Reconstruir el camino
+        // Reconstruir el camino desde v2 siguiendo los predecesores
+        List<V> path = new ArrayList<>();
+        for (V step = v2; !step.equals(v1); step = predecessorMap.get(step)) {
+            path.add(step);
+        }
+        path.add(v1);
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Obtiene el camino más corto entre `v1` y `v2` mediante una búsqueda en
+     * anchura bidireccional: avanza a la vez desde `v1` por los arcos salientes
+     * y desde `v2` por los entrantes, expandiendo siempre la frontera más pequeña.
+     * Devuelve un camino con el mismo número de arcos que `shortestPath`, aunque
+     * si hay varios caminos mínimos puede elegir otro distinto.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestPathBidirectional(V v1, V v2){
+        compact();
+        if (!containsVertex(v1) || !containsVertex(v2)) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+
+        if (reachability != null && !reachability.isReachable(v1, v2)) {
+            return null; // El índice garantiza que no hay camino
+        }
+
+        if (v1.equals(v2)) {
+            List<V> path = new ArrayList<>();
+            path.add(v1);
+            return path; // Camino de un vértice a sí mismo
+        }
+
+        // Clave = vértice visitado, Valor = vértice anterior (hacia v1) o siguiente (hacia v2).
+        Map<V, V> forwardPredecessors = new HashMap<>();
+        Map<V, V> backwardSuccessors = new HashMap<>();
+        forwardPredecessors.put(v1, null);
+        backwardSuccessors.put(v2, null);
+
+        List<V> forwardFrontier = new ArrayList<>();
+        List<V> backwardFrontier = new ArrayList<>();
+        forwardFrontier.add(v1);
+        backwardFrontier.add(v2);
+
+        V meeting = null;
+        while (meeting == null && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            // Como los conjuntos visitados desde cada extremo son disjuntos, el primer
+            // vértice alcanzado por ambos lados da un camino de longitud mínima.
+            if (forwardFrontier.size() <= backwardFrontier.size()) {
+                meeting = expandFrontier(forwardFrontier, adjacencyList, forwardPredecessors, backwardSuccessors);
+            } else {
+                meeting = expandFrontier(backwardFrontier, reverseAdjacencyList, backwardSuccessors, forwardPredecessors);
+            }
+        }
+
+        if (meeting == null) {
+            return null; // No se encontró camino
+        }
+
         List<V> path = new ArrayList<>();
-        V step = v2;
-        while (step != null) {
-            path.add(0, step); // Añadir al principio de la lista
-            if (step.equals(v1)) break; // Llegamos al inicio
-            step = predecessorMap.get(step);
-            // Si step se vuelve null antes de llegar a v1 (y v1 != v2), indica que no hay camino (ya manejado por pathFound)
-            // o un error en predecessorMap.
-            if (step == null && !v1.equals(v2)) {
-                // Esto no debería suceder si pathFound es true. Podría ser un error lógico.
-                System.err.println("Error en la reconstrucción del camino: predecesor nulo inesperado.");
-                return null;
+        for (V step = meeting; step != null; step = forwardPredecessors.get(step)) {
+            path.add(step);
+        }
+        Collections.reverse(path);
+        for (V step = backwardSuccessors.get(meeting); step != null; step = backwardSuccessors.get(step)) {
+            path.add(step);
+        }
+        return path;
+    }
+
+    //Expande un nivel completo de `frontier` sobre `edges`. Devuelve el primer vértice
+    //ya visitado desde el otro extremo o `null` si no hay encuentro en este nivel.
+    private V expandFrontier(List<V> frontier, Map<V, Set<V>> edges, Map<V, V> visited, Map<V, V> otherVisited){
+        List<V> next = new ArrayList<>();
+        for (V current : frontier) {
+            for (V neighbor : edges.get(current)) {
+                if (!visited.containsKey(neighbor)) {
+                    visited.put(neighbor, current);
+                    if (otherVisited.containsKey(neighbor)) {
+                        return neighbor;
+                    }
+                    next.add(neighbor);
+                }
+            }
+        }
+        frontier.clear();
+        frontier.addAll(next);
+        return null;
+    }
+
+    /**
+     * Calcula el camino más corto para cada par (origen, destino) de `pairs`.
+     * Los pares se agrupan por origen y cada grupo se resuelve con una única
+     * búsqueda en anchura, que termina en cuanto se han alcanzado todos los
+     * destinos del grupo. Cada camino es un camino más corto, de la misma
+     * longitud que el de `shortestPath` aunque no necesariamente el mismo (por
+     * ejemplo, si el origen está registrado).
+     *
+     * @param pairs pares (origen, destino) a resolver.
+     * @return lista con el resultado de cada par en el mismo orden que `pairs`;
+     * cada elemento es el camino o `null` si no hay camino o los vértices no existen.
+     */
+    public List<List<V>> shortestPaths(List<? extends Map.Entry<V, V>> pairs){
+        compact();
+        GraphEvents.BulkOperation event = GraphMetrics.enabled ? GraphMetrics.beginBulk() : null;
+        // Clave = origen, Valor = posiciones de `pairs` con ese origen.
+        Map<V, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            groups.computeIfAbsent(pairs.get(i).getKey(), k -> new ArrayList<>()).add(i);
+        }
+
+        List<List<V>> results = new ArrayList<>(Collections.<List<V>>nCopies(pairs.size(), null));
+        for (Map.Entry<V, List<Integer>> group : groups.entrySet()) {
+            V source = group.getKey();
+            if (!containsVertex(source)) {
+                continue; // Todos los caminos del grupo son null
+            }
+            Set<V> targets = new HashSet<>();
+            for (int i : group.getValue()) {
+                V target = pairs.get(i).getValue();
+                if (containsVertex(target)) {
+                    targets.add(target);
+                }
             }
+            Map<V, V> predecessors = predecessorTree(source, targets);
+            for (int i : group.getValue()) {
+                results.set(i, buildPath(predecessors, source, pairs.get(i).getValue()));
+            }
+        }
+        if (event != null) {
+            GraphMetrics.endBulk(event, "shortestPaths", pairs.size());
+        }
+        return results;
+    }
+
+    private Set<V> adjacentsOf(V v){
+        compact();
+        Set<V> adjacents = adjacencyList.get(v);
+        if (adjacents == null) {
+            throw new IllegalArgumentException("Vertex " + v + " not found in the graph.");
+        }
+        return adjacents;
+    }
+
+    //Número de modificaciones del grafo, para invalidar resultados calculados previamente.
+    long modCount(){
+        compact();
+        return modCount;
+    }
+
+    //Búsqueda en anchura desde `source` que devuelve el mapa de predecesores (el origen
+    //se asocia a null). Si `targets` no es null, termina al alcanzarlos todos.
+    Map<V, V> predecessorTree(V source, Set<V> targets){
+        compact();
+        return predecessorTree(adjacencyList, source, targets);
+    }
+
+    //Versión sobre una lista de adyacencia cualquiera, compartida con ConcurrentGraph.
+    static <V> Map<V, V> predecessorTree(Map<V, Set<V>> adjacencyList, V source, Set<V> targets){
+        Map<V, V> predecessorMap = new HashMap<>();
+        ArrayDeque<V> queue = new ArrayDeque<>();
+        predecessorMap.put(source, null);
+        queue.offer(source);
+
+        int pending = targets == null ? -1 : targets.size() - (targets.contains(source) ? 1 : 0);
+        while (!queue.isEmpty() && pending != 0) {
+            V current = queue.poll();
+            for (V neighbor : adjacencyList.get(current)) {
+                if (!predecessorMap.containsKey(neighbor)) {
+                    predecessorMap.put(neighbor, current);
+                    queue.offer(neighbor);
+                    if (targets != null && targets.contains(neighbor) && --pending == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        return predecessorMap;
+    }
+
+    //Reconstruye el camino de `source` a `target` con un mapa de `predecessorTree`.
+    static <V> List<V> buildPath(Map<V, V> predecessors, V source, V target){
+        if (!predecessors.containsKey(target)) {
+            return null;
+        }
+        List<V> path = new ArrayList<>();
+        for (V step = target; step != null; step = predecessors.get(step)) {
+            path.add(step);
         }
+        Collections.reverse(path);
         return path;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Métricas globales basadas en distancias (centralidad de cercanía,
+ * excentricidad, diámetro e histograma de distancias) calculadas con una
+ * búsqueda en anchura multiorigen sobre una instantánea CSR. Las búsquedas
+ * desde todos los vértices se hacen en lotes de 64 orígenes repartidos entre los
+ * hilos del pool.
+ *
+ * Las distancias se miden en número de arcos siguiendo su dirección; los pares
+ * sin camino no cuentan. El recorrido desde todos los vértices se calcula una
+ * vez, en la primera consulta que lo necesita, y se reutiliza.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class GraphAnalytics<V>{
+
+    private final FrozenGraph<V> graph;
+    private final ForkJoinPool pool;
+    //Resultado del recorrido desde todos los vértices (orígenes = identificadores 0..n-1).
+    private volatile MultiSourceBFS all;
+
+    /**
+     * @param graph grafo analizado; se usa una instantánea de su estado actual.
+     */
+    public GraphAnalytics(Graph<V> graph){
+        this(graph.freeze(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param graph instantánea analizada.
+     * @param pool pool en el que se reparten los lotes de orígenes.
+     */
+    public GraphAnalytics(FrozenGraph<V> graph, ForkJoinPool pool){
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Centralidad de cercanía de cada vértice, con la corrección de Wasserman y
+     * Faust para grafos no conexos: si `v` alcanza a `r - 1` vértices con una
+     * suma de distancias `s`, vale `((r - 1) / (n - 1)) * ((r - 1) / s)`, y 0 si
+     * no alcanza a ninguno.
+     *
+     * @return mapa vértice -> cercanía, entre 0 y 1.
+     */
+    public Map<V, Double> closeness(){
+        MultiSourceBFS result = all();
+        int n = graph.vertexCount();
+        Map<V, Double> closeness = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (int v = 0; v < n; v++) {
+            int others = result.reached[v] - 1;
+            double value = others == 0 ? 0 : ((double) others / (n - 1)) * (others / (double) result.distanceSum[v]);
+            closeness.put(graph.vertexOf(v), value);
+        }
+        return closeness;
+    }
+
+    /**
+     * Excentricidad de cada vértice: la mayor distancia a un vértice alcanzable
+     * desde él (0 si no alcanza a ninguno).
+     *
+     * @return mapa vértice -> excentricidad.
+     */
+    public Map<V, Integer> eccentricity(){
+        MultiSourceBFS result = all();
+        int n = graph.vertexCount();
+        Map<V, Integer> eccentricity = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (int v = 0; v < n; v++) {
+            eccentricity.put(graph.vertexOf(v), result.eccentricity[v]);
+        }
+        return eccentricity;
+    }
+
+    /**
+     * @return el diámetro exacto: la mayor distancia entre dos vértices
+     * conectados por un camino (0 si no hay arcos).
+     */
+    public int diameter(){
+        return all().histogram.length - 1;
+    }
+
+    /**
+     * Estima el diámetro con búsquedas desde `samples` orígenes al azar, sin
+     * recorrer el grafo desde todos los vértices. El resultado es una cota
+     * inferior del diámetro exacto.
+     *
+     * @param samples número de orígenes (se redondea al número de vértices).
+     * @param seed semilla para elegir los orígenes.
+     * @return la mayor excentricidad entre los orígenes elegidos.
+     */
+    public int estimateDiameter(int samples, long seed){
+        int n = graph.vertexCount();
+        int k = Math.min(samples, n);
+        // Muestra sin repetición: barajado parcial de Fisher-Yates.
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        Random random = new Random(seed);
+        int[] sources = new int[k];
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+            sources[i] = ids[i];
+        }
+        MultiSourceBFS result = run(sources);
+        return result.histogram.length - 1;
+    }
+
+    /**
+     * Histograma de distancias entre todos los pares ordenados de vértices.
+     *
+     * @return array en el que la posición `d` es el número de pares `(u, v)` con
+     * `v` a distancia `d` de `u`; la posición 0 cuenta cada vértice consigo mismo.
+     */
+    public long[] hopHistogram(){
+        return all().histogram.clone();
+    }
+
+    private MultiSourceBFS all(){
+        MultiSourceBFS result = all;
+        if (result == null) {
+            synchronized (this) {
+                result = all;
+                if (result == null) {
+                    int[] sources = new int[graph.vertexCount()];
+                    for (int i = 0; i < sources.length; i++) {
+                        sources[i] = i;
+                    }
+                    result = all = run(sources);
+                }
+            }
+        }
+        return result;
+    }
+
+    private MultiSourceBFS run(int[] sources){
+        MultiSourceBFS bfs = new MultiSourceBFS(graph.offsets(), graph.targets(), sources.length);
+        bfs.run(sources, pool);
+        return bfs;
+    }
+}
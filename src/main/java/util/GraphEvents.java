@@ -0,0 +1,68 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Eventos de JDK Flight Recorder emitidos por {@link GraphMetrics} cuando la
+ * instrumentación está activada. Aparecen en la categoría "Graph" de JDK Mission
+ * Control y se pueden activar con `-XX:StartFlightRecording` como cualquier
+ * evento del JDK.
+ */
+final class GraphEvents{
+
+    private GraphEvents(){
+    }
+
+    @Name("util.ShortestPath")
+    @Label("Shortest Path")
+    @Category("Graph")
+    @Description("Consulta de camino más corto en Graph")
+    @StackTrace(false)
+    static final class ShortestPath extends Event{
+        @Label("Source")
+        String source;
+        @Label("Target")
+        String target;
+        @Label("Vertices Dequeued")
+        long dequeued;
+        @Label("Edges Scanned")
+        long edgesScanned;
+        @Label("Frontier Peak")
+        long frontierPeak;
+        @Label("Path Length")
+        @Description("Número de arcos del camino, o -1 si no hay camino")
+        int pathLength;
+        //Inicio para el histograma de latencias (los campos transient no se graban).
+        transient long startNanos;
+    }
+
+    @Name("util.AddEdge")
+    @Label("Add Edge")
+    @Category("Graph")
+    @StackTrace(false)
+    static final class AddEdge extends Event{
+        @Label("Source")
+        String source;
+        @Label("Target")
+        String target;
+        @Label("Added")
+        boolean added;
+        transient long startNanos;
+    }
+
+    @Name("util.BulkOperation")
+    @Label("Bulk Operation")
+    @Category("Graph")
+    @Description("Operación sobre muchos elementos: lotes de caminos, instantáneas, exportación y carga")
+    static final class BulkOperation extends Event{
+        @Label("Operation")
+        String operation;
+        @Label("Items")
+        long items;
+    }
+}
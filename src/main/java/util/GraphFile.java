@@ -0,0 +1,166 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Formato binario persistente de un grafo y sus operaciones de escritura y
+ * apertura. Todos los enteros se guardan en big-endian:
+ *
+ * <pre>
+ * cabecera (32 bytes): magic "GRPH", versión, nº de vértices n, 0, nº de arcos m (long), bytes de claves (long)
+ * diccionario:         n + 1 posiciones (long) dentro del bloque de claves, bloque de claves, relleno hasta múltiplo de 8
+ * CSR:                 n + 1 offsets (int), m destinos (int)
+ * </pre>
+ *
+ * Los identificadores se asignan en el orden de las claves codificadas (bytes
+ * sin signo), así que el diccionario admite búsqueda binaria sin cargarlo en
+ * memoria. {@link #open(Path, VertexCodec)} proyecta el fichero y responde las
+ * consultas directamente sobre él.
+ */
+public final class GraphFile{
+
+    static final int MAGIC = 0x47525048; // "GRPH"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private GraphFile(){
+    }
+
+    /**
+     * Escribe el grafo en `file`, sustituyéndolo si existe.
+     *
+     * @param graph grafo a guardar.
+     * @param codec codificación de los vértices.
+     * @param file fichero destino.
+     * @throws IOException si no se puede escribir el fichero.
+     * @throws IllegalArgumentException si dos vértices tienen la misma codificación.
+     */
+    public static <V> void write(Graph<V> graph, VertexCodec<V> codec, Path file) throws IOException{
+        write(graph.freeze(), codec, file);
+    }
+
+    /**
+     * Escribe la instantánea en `file`, sustituyéndolo si existe.
+     *
+     * @param graph instantánea a guardar.
+     * @param codec codificación de los vértices.
+     * @param file fichero destino.
+     * @throws IOException si no se puede escribir el fichero.
+     * @throws IllegalArgumentException si dos vértices tienen la misma codificación.
+     */
+    public static <V> void write(FrozenGraph<V> graph, VertexCodec<V> codec, Path file) throws IOException{
+        int n = graph.vertexCount();
+        byte[][] keys = new byte[n][];
+        long keyBytes = 0;
+        for (int id = 0; id < n; id++) {
+            keys[id] = codec.encode(graph.vertexOf(id));
+            keyBytes += keys[id].length;
+        }
+
+        // newToOld[i] = identificador en la instantánea del vértice con identificador i en el fichero.
+        Integer[] newToOld = new Integer[n];
+        for (int id = 0; id < n; id++) {
+            newToOld[id] = id;
+        }
+        Arrays.sort(newToOld, (a, b) -> compareKeys(keys[a], keys[b]));
+        int[] oldToNew = new int[n];
+        for (int i = 0; i < n; i++) {
+            oldToNew[newToOld[i]] = i;
+            if (i > 0 && compareKeys(keys[newToOld[i - 1]], keys[newToOld[i]]) == 0) {
+                throw new IllegalArgumentException("Vertices " + graph.vertexOf(newToOld[i - 1]) + " and "
+                        + graph.vertexOf(newToOld[i]) + " have the same encoding.");
+            }
+        }
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(0);
+            out.writeLong(targets.length);
+            out.writeLong(keyBytes);
+
+            long position = 0;
+            out.writeLong(position);
+            for (int i = 0; i < n; i++) {
+                position += keys[newToOld[i]].length;
+                out.writeLong(position);
+            }
+            for (int i = 0; i < n; i++) {
+                out.write(keys[newToOld[i]]);
+            }
+            for (long pad = padding(keyBytes); pad > 0; pad--) {
+                out.writeByte(0);
+            }
+
+            int edge = 0;
+            out.writeInt(edge);
+            for (int i = 0; i < n; i++) {
+                int old = newToOld[i];
+                edge += offsets[old + 1] - offsets[old];
+                out.writeInt(edge);
+            }
+            for (int i = 0; i < n; i++) {
+                int old = newToOld[i];
+                for (int e = offsets[old]; e < offsets[old + 1]; e++) {
+                    out.writeInt(oldToNew[targets[e]]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Abre un fichero escrito con {@link #write(Graph, VertexCodec, Path)}
+     * proyectándolo en memoria. No se copia nada al heap: el coste de apertura es
+     * constante y las consultas sólo leen las páginas que necesitan.
+     *
+     * @param file fichero a abrir.
+     * @param codec codificación de los vértices usada al escribirlo.
+     * @return el grafo de sólo lectura respaldado por el fichero.
+     * @throws IOException si no se puede leer el fichero o no tiene un formato válido.
+     */
+    public static <V> MappedGraph<V> open(Path file, VertexCodec<V> codec) throws IOException{
+        MappedFile mapped = new MappedFile(file);
+        if (mapped.size() < HEADER_SIZE || mapped.getInt(0) != MAGIC) {
+            throw new IOException(file + ": not a graph file.");
+        }
+        int version = mapped.getInt(4);
+        if (version != VERSION) {
+            throw new IOException(file + ": unsupported graph file version " + version + ".");
+        }
+        int n = mapped.getInt(8);
+        long m = mapped.getLong(16);
+        long keyBytes = mapped.getLong(24);
+        if (n < 0 || m < 0 || m > Integer.MAX_VALUE || keyBytes < 0) {
+            throw new IOException(file + ": corrupted graph file header.");
+        }
+        long expected = HEADER_SIZE + 8L * (n + 1) + keyBytes + padding(keyBytes) + 4L * (n + 1) + 4L * m;
+        if (mapped.size() != expected) {
+            throw new IOException(file + ": truncated or corrupted graph file.");
+        }
+        return new MappedGraph<>(mapped, codec, n, (int) m, keyBytes);
+    }
+
+    static long padding(long keyBytes){
+        return (8 - (keyBytes & 7)) & 7;
+    }
+
+    //Orden lexicográfico de bytes sin signo.
+    static int compareKeys(byte[] a, byte[] b){
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return a.length - b.length;
+    }
+}
@@ -0,0 +1,27 @@
+package util;
+
+/**
+ * Formatos de texto en los que se puede exportar un grafo con
+ * {@link Graph#writeTo(Appendable, GraphFormat, boolean)}.
+ */
+public enum GraphFormat{
+
+    /**
+     * Una línea `vértice=[adyacente1, adyacente2]` por vértice, el mismo formato
+     * que {@link Graph#toString()}.
+     */
+    ADJACENCY_LIST,
+
+    /**
+     * Grafo dirigido en el lenguaje DOT de Graphviz. Los vértices se escriben
+     * entre comillas; los que no tienen arcos salientes aparecen además como
+     * nodo suelto para no perder los aislados.
+     */
+    DOT,
+
+    /**
+     * Una línea `origen destino` por arco, legible por {@link EdgeListLoader}
+     * cuando los vértices son enteros. Los vértices aislados no aparecen.
+     */
+    EDGE_LIST
+}
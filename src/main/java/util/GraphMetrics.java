@@ -0,0 +1,201 @@
+package util;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentación opcional de las operaciones de {@link Graph}. Está desactivada
+ * por defecto: en ese estado cada operación instrumentada sólo lee un campo
+ * `volatile` y no mide tiempos ni crea objetos.
+ *
+ * Activada con {@link #enable()}, acumula contadores globales (consultas,
+ * vértices extraídos de la cola, arcos recorridos, pico de frontera, caminos no
+ * encontrados), histogramas de latencia sin bloqueos para `shortestPath` y
+ * `addEdge`, y emite eventos de JDK Flight Recorder (`util.ShortestPath`,
+ * `util.AddEdge` y `util.BulkOperation`) con los datos de cada operación, que
+ * sólo se graban si hay una grabación de JFR en curso.
+ */
+public final class GraphMetrics{
+
+    //Leído en cada operación instrumentada; el resto sólo se usa si está activo.
+    static volatile boolean enabled;
+
+    private static final LongAdder shortestPathCount = new LongAdder();
+    private static final LongAdder unreachableCount = new LongAdder();
+    private static final LongAdder verticesDequeued = new LongAdder();
+    private static final LongAdder edgesScanned = new LongAdder();
+    private static final LongAccumulator frontierPeak = new LongAccumulator(Math::max, 0);
+    private static final LongAdder addEdgeCount = new LongAdder();
+    private static final LatencyHistogram shortestPathLatency = new LatencyHistogram();
+    private static final LatencyHistogram addEdgeLatency = new LatencyHistogram();
+
+    private GraphMetrics(){
+    }
+
+    /**
+     * Activa la instrumentación en todos los grafos.
+     */
+    public static void enable(){
+        enabled = true;
+    }
+
+    /**
+     * Desactiva la instrumentación. Los valores acumulados se conservan.
+     */
+    public static void disable(){
+        enabled = false;
+    }
+
+    /**
+     * @return `true` si la instrumentación está activada.
+     */
+    public static boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Pone a cero todos los contadores e histogramas.
+     */
+    public static void reset(){
+        shortestPathCount.reset();
+        unreachableCount.reset();
+        verticesDequeued.reset();
+        edgesScanned.reset();
+        frontierPeak.reset();
+        addEdgeCount.reset();
+        shortestPathLatency.reset();
+        addEdgeLatency.reset();
+    }
+
+    /**
+     * @return número de llamadas a `shortestPath` registradas.
+     */
+    public static long shortestPathCount(){
+        return shortestPathCount.sum();
+    }
+
+    /**
+     * @return número de llamadas a `shortestPath` que no encontraron camino.
+     */
+    public static long unreachableCount(){
+        return unreachableCount.sum();
+    }
+
+    /**
+     * @return total de vértices extraídos de la cola de la BFS.
+     */
+    public static long verticesDequeued(){
+        return verticesDequeued.sum();
+    }
+
+    /**
+     * @return total de arcos recorridos por la BFS.
+     */
+    public static long edgesScanned(){
+        return edgesScanned.sum();
+    }
+
+    /**
+     * @return mayor tamaño de la cola de la BFS en una consulta.
+     */
+    public static long frontierPeak(){
+        return frontierPeak.get();
+    }
+
+    /**
+     * @return número de llamadas a `addEdge` registradas.
+     */
+    public static long addEdgeCount(){
+        return addEdgeCount.sum();
+    }
+
+    /**
+     * @return histograma de latencias de `shortestPath`, en nanosegundos.
+     */
+    public static LatencyHistogram shortestPathLatency(){
+        return shortestPathLatency;
+    }
+
+    /**
+     * @return histograma de latencias de `addEdge`, en nanosegundos.
+     */
+    public static LatencyHistogram addEdgeLatency(){
+        return addEdgeLatency;
+    }
+
+    /**
+     * @return resumen de todos los contadores e histogramas.
+     */
+    public static String summary(){
+        return String.format(Locale.ROOT,
+                "shortestPath: %d queries (%d unreachable), %d dequeued, %d edges scanned, frontier peak %d%n"
+                        + "  latency ns: %s%naddEdge: %d calls%n  latency ns: %s",
+                shortestPathCount(), unreachableCount(), verticesDequeued(), edgesScanned(), frontierPeak(),
+                shortestPathLatency, addEdgeCount(), addEdgeLatency);
+    }
+
+    static GraphEvents.ShortestPath beginShortestPath(){
+        GraphEvents.ShortestPath event = new GraphEvents.ShortestPath();
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    static void endShortestPath(GraphEvents.ShortestPath event, Object source, Object target, long dequeued,
+            long edges, long peak, List<?> path){
+        shortestPathLatency.record(System.nanoTime() - event.startNanos);
+        shortestPathCount.increment();
+        if (path == null) {
+            unreachableCount.increment();
+        }
+        verticesDequeued.add(dequeued);
+        edgesScanned.add(edges);
+        frontierPeak.accumulate(peak);
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = String.valueOf(source);
+            event.target = String.valueOf(target);
+            event.dequeued = dequeued;
+            event.edgesScanned = edges;
+            event.frontierPeak = peak;
+            event.pathLength = path == null ? -1 : path.size() - 1;
+            event.commit();
+        }
+    }
+
+    static GraphEvents.AddEdge beginAddEdge(){
+        GraphEvents.AddEdge event = new GraphEvents.AddEdge();
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    static void endAddEdge(GraphEvents.AddEdge event, Object source, Object target, boolean added){
+        addEdgeLatency.record(System.nanoTime() - event.startNanos);
+        addEdgeCount.increment();
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = String.valueOf(source);
+            event.target = String.valueOf(target);
+            event.added = added;
+            event.commit();
+        }
+    }
+
+    static GraphEvents.BulkOperation beginBulk(){
+        GraphEvents.BulkOperation event = new GraphEvents.BulkOperation();
+        event.begin();
+        return event;
+    }
+
+    static void endBulk(GraphEvents.BulkOperation event, String operation, long items){
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.items = items;
+            event.commit();
+        }
+    }
+}
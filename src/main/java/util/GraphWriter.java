@@ -0,0 +1,146 @@
+package util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escritura incremental de una lista de adyacencia en uno de los
+ * {@link GraphFormat}. El texto se acumula en un único búfer de tamaño acotado
+ * que se vuelca en el destino cada vez que se llena, de modo que nunca se
+ * construye la cadena completa.
+ *
+ * Sin ordenación se recorre directamente el mapa de adyacencia. Con ordenación,
+ * los vértices se copian a un array que se ordena con `Arrays.parallelSort` y los
+ * adyacentes de cada vértice se ordenan en un array auxiliar reutilizado.
+ */
+final class GraphWriter{
+
+    //Caracteres acumulados antes de volcar el búfer en el destino.
+    static final int BUFFER_CHARS = 1 << 16;
+
+    //Orden natural; lanza ClassCastException si los vértices no son comparables entre sí.
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> NATURAL_ORDER = (a, b) -> ((Comparable<Object>) a).compareTo(b);
+
+    private GraphWriter(){
+    }
+
+    static <V> void write(Map<V, Set<V>> adjacencyList, Appendable out, GraphFormat format, boolean sorted)
+            throws IOException{
+        // Si el destino ya es un StringBuilder se escribe en él directamente.
+        StringBuilder buffer = out instanceof StringBuilder ? (StringBuilder) out : new StringBuilder(BUFFER_CHARS + 256);
+        if (format == GraphFormat.DOT) {
+            buffer.append("digraph G {\n");
+        }
+        Object[] adjacents = new Object[16];
+        if (sorted) {
+            Object[] vertices = adjacencyList.keySet().toArray();
+            sort(vertices, vertices.length);
+            for (Object vertex : vertices) {
+                Set<V> set = adjacencyList.get(vertex);
+                if (set.size() > adjacents.length) {
+                    adjacents = new Object[Math.max(set.size(), adjacents.length << 1)];
+                }
+                int degree = 0;
+                for (V w : set) {
+                    adjacents[degree++] = w;
+                }
+                sort(adjacents, degree);
+                writeVertex(buffer, format, vertex, adjacents, degree);
+                flushIfFull(buffer, out);
+            }
+        } else {
+            for (Map.Entry<V, Set<V>> entry : adjacencyList.entrySet()) {
+                Set<V> set = entry.getValue();
+                if (set.size() > adjacents.length) {
+                    adjacents = new Object[Math.max(set.size(), adjacents.length << 1)];
+                }
+                adjacents = set.toArray(adjacents);
+                writeVertex(buffer, format, entry.getKey(), adjacents, set.size());
+                flushIfFull(buffer, out);
+            }
+        }
+        if (format == GraphFormat.DOT) {
+            buffer.append("}\n");
+        }
+        if (buffer != out) {
+            out.append(buffer);
+        }
+    }
+
+    private static void writeVertex(StringBuilder buffer, GraphFormat format, Object vertex, Object[] adjacents, int degree){
+        switch (format) {
+            case ADJACENCY_LIST:
+                buffer.append(vertex).append("=[");
+                for (int i = 0; i < degree; i++) {
+                    if (i > 0) {
+                        buffer.append(", ");
+                    }
+                    buffer.append(adjacents[i]);
+                }
+                buffer.append("]\n");
+                break;
+            case DOT:
+                if (degree == 0) {
+                    buffer.append("  ");
+                    appendQuoted(buffer, vertex);
+                    buffer.append(";\n");
+                }
+                for (int i = 0; i < degree; i++) {
+                    buffer.append("  ");
+                    appendQuoted(buffer, vertex);
+                    buffer.append(" -> ");
+                    appendQuoted(buffer, adjacents[i]);
+                    buffer.append(";\n");
+                }
+                break;
+            case EDGE_LIST:
+                for (int i = 0; i < degree; i++) {
+                    buffer.append(vertex).append(' ').append(adjacents[i]).append('\n');
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    //Identificador DOT entre comillas, escapando comillas, barras y saltos de línea.
+    private static void appendQuoted(StringBuilder buffer, Object vertex){
+        String id = String.valueOf(vertex);
+        buffer.append('"');
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.append('\\').append(c);
+            } else if (c == '\n') {
+                buffer.append("\\n");
+            } else {
+                buffer.append(c);
+            }
+        }
+        buffer.append('"');
+    }
+
+    private static void flushIfFull(StringBuilder buffer, Appendable out) throws IOException{
+        if (buffer != out && buffer.length() >= BUFFER_CHARS) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    //Ordena las `length` primeras posiciones si los elementos son comparables; si no
+    //lo son, se mantiene el orden de iteración, como hacía `toString`.
+    private static void sort(Object[] items, int length){
+        if (length < 2 || !(items[0] instanceof Comparable)) {
+            return;
+        }
+        try {
+            Arrays.parallelSort(items, 0, length, NATURAL_ORDER);
+        } catch (ClassCastException e) {
+            // No se puede ordenar, continuar con el orden del mapa
+        }
+    }
+}
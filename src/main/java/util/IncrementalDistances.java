@@ -0,0 +1,116 @@
+package util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distancias BFS y predecesores desde un origen fijo, mantenidos al día mientras
+ * se añaden arcos. Un arco nuevo `u -> v` sólo puede acortar distancias, así que
+ * basta con relajar `v` y propagar la mejora en anchura desde él; el resto del
+ * árbol no se toca. Las eliminaciones no se propagan: {@link Graph} vuelve a
+ * calcular el árbol cuando afectan a él (ver {@link #usesEdge} y {@link #dependsOn}).
+ *
+ * @param <V> tipo de los vértices.
+ */
+final class IncrementalDistances<V>{
+
+    private final V source;
+    //Clave = vértice alcanzable, Valor = número de arcos desde el origen.
+    private final Map<V, Integer> distances = new HashMap<>();
+    //Clave = vértice alcanzable, Valor = predecesor (null para el origen).
+    private final Map<V, V> predecessors = new HashMap<>();
+
+    IncrementalDistances(Map<V, Set<V>> adjacencyList, V source){
+        this.source = source;
+        distances.put(source, 0);
+        predecessors.put(source, null);
+        propagate(adjacencyList, source);
+    }
+
+    /**
+     * Actualiza las distancias tras añadir el arco `from -> to`.
+     */
+    void edgeAdded(Map<V, Set<V>> adjacencyList, V from, V to){
+        Integer d = distances.get(from);
+        if (d == null) {
+            return; // El origen del arco no es alcanzable: nada cambia
+        }
+        Integer current = distances.get(to);
+        if (current != null && current <= d + 1) {
+            return;
+        }
+        distances.put(to, d + 1);
+        predecessors.put(to, from);
+        propagate(adjacencyList, to);
+    }
+
+    /**
+     * @return `true` si eliminar `v` cambia alguna otra distancia, es decir, si es
+     * el predecesor de algún vértice en el árbol de caminos. Se comprueba con los
+     * adyacentes de `v`, antes de eliminarlo.
+     */
+    boolean dependsOn(Map<V, Set<V>> adjacencyList, V v){
+        if (!distances.containsKey(v)) {
+            return false;
+        }
+        for (V w : adjacencyList.get(v)) {
+            if (!w.equals(v) && v.equals(predecessors.get(w))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Olvida un vértice eliminado que no es predecesor de ningún otro.
+     */
+    void forget(V v){
+        distances.remove(v);
+        predecessors.remove(v);
+    }
+
+    /**
+     * @return `true` si el arco `from -> to` está en el árbol de caminos; si no lo
+     * está, eliminarlo no cambia ninguna distancia.
+     */
+    boolean usesEdge(V from, V to){
+        return predecessors.containsKey(to) && from.equals(predecessors.get(to));
+    }
+
+    /**
+     * @return número de arcos del camino más corto hasta `target`, o -1 si no es alcanzable.
+     */
+    int distance(V target){
+        Integer d = distances.get(target);
+        return d == null ? -1 : d;
+    }
+
+    /**
+     * @return el camino más corto hasta `target`, o `null` si no es alcanzable.
+     */
+    List<V> pathTo(V target){
+        return Graph.buildPath(predecessors, source, target);
+    }
+
+    //Búsqueda en anchura desde `start`, cuya distancia ya es definitiva, que sólo
+    //avanza por los vértices cuya distancia mejora.
+    private void propagate(Map<V, Set<V>> adjacencyList, V start){
+        ArrayDeque<V> queue = new ArrayDeque<>();
+        queue.offer(start);
+        while (!queue.isEmpty()) {
+            V current = queue.poll();
+            int next = distances.get(current) + 1;
+            for (V neighbor : adjacencyList.get(current)) {
+                Integer d = distances.get(neighbor);
+                if (d == null || d > next) {
+                    distances.put(neighbor, next);
+                    predecessors.put(neighbor, current);
+                    queue.offer(neighbor);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Montículo d-ario de mínimos indexado: guarda elementos `0 .. capacity-1` con
+ * una prioridad `double` y permite disminuir la prioridad de un elemento ya
+ * presente (decrease-key) en O(log_d n). Todo se guarda en arrays primitivos.
+ */
+final class IndexedDHeap{
+
+    private static final int ARITY = 4;
+
+    //heap[i] = elemento en la posición i del montículo.
+    private final int[] heap;
+    //position[e] = posición de e en `heap`, o -1 si no está.
+    private final int[] position;
+    private final double[] priority;
+    private int size;
+
+    IndexedDHeap(int capacity){
+        heap = new int[capacity];
+        position = new int[capacity];
+        priority = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Inserta `element` o, si ya está, rebaja su prioridad cuando la nueva es menor.
+     *
+     * @return `true` si el montículo ha cambiado.
+     */
+    boolean insertOrDecrease(int element, double newPriority){
+        int pos = position[element];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = element;
+            position[element] = pos;
+        } else if (newPriority >= priority[element]) {
+            return false;
+        }
+        priority[element] = newPriority;
+        siftUp(pos);
+        return true;
+    }
+
+    /**
+     * Extrae el elemento de menor prioridad. El montículo no debe estar vacío.
+     */
+    int poll(){
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int pos){
+        int element = heap[pos];
+        double p = priority[element];
+        while (pos > 0) {
+            int parent = (pos - 1) / ARITY;
+            int parentElement = heap[parent];
+            if (priority[parentElement] <= p) {
+                break;
+            }
+            heap[pos] = parentElement;
+            position[parentElement] = pos;
+            pos = parent;
+        }
+        heap[pos] = element;
+        position[element] = pos;
+    }
+
+    private void siftDown(int pos){
+        int element = heap[pos];
+        double p = priority[element];
+        while (true) {
+            int first = pos * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            for (int child = first + 1, end = Math.min(first + ARITY, size); child < end; child++) {
+                if (priority[heap[child]] < priority[heap[best]]) {
+                    best = child;
+                }
+            }
+            if (priority[heap[best]] >= p) {
+                break;
+            }
+            heap[pos] = heap[best];
+            position[heap[pos]] = pos;
+            pos = best;
+        }
+        heap[pos] = element;
+        position[element] = pos;
+    }
+}
@@ -0,0 +1,272 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Grafo dirigido especializado para vértices `int`. Equivale a un
+ * `Graph<Integer>` pero sin objetos `Integer`, `HashMap` ni `HashSet`: los
+ * vértices se traducen a identificadores densos con una tabla hash de
+ * direccionamiento abierto y los adyacentes de cada vértice se guardan en un
+ * array `int[]` que crece por duplicación. Añadir un arco no crea ningún objeto
+ * salvo cuando hay que ampliar alguno de los arrays, y `shortestPath` reutiliza
+ * sus arrays de búsqueda entre consultas. No es seguro para uso concurrente.
+ */
+public class IntGraph{
+
+    //Valor de vértice -> identificador denso.
+    private final IntIntHashMap index;
+    //Conjunto de arcos como pares (origen, destino) de identificadores, para detectar duplicados.
+    private final LongHashSet edges;
+    //Identificador denso -> valor del vértice.
+    private int[] vertices;
+    //Adyacentes (como identificadores) y número de adyacentes de cada vértice.
+    private int[][] adjacency;
+    private int[] degree;
+    private int vertexCount;
+    //Arrays de búsqueda de shortestPath, reutilizados entre consultas.
+    private final SearchBuffers search = new SearchBuffers();
+
+    public IntGraph(){
+        this(16, 16);
+    }
+
+    /**
+     * Crea un grafo vacío con capacidad inicial para el número de vértices y
+     * arcos indicado, evitando redimensionados durante una carga masiva.
+     *
+     * @param expectedVertices número esperado de vértices.
+     * @param expectedEdges número esperado de arcos.
+     */
+    public IntGraph(int expectedVertices, int expectedEdges){
+        int capacity = Math.max(expectedVertices, 1);
+        this.index = new IntIntHashMap(capacity);
+        this.edges = new LongHashSet(Math.max(expectedEdges, 1));
+        this.vertices = new int[capacity];
+        this.adjacency = new int[capacity][];
+        this.degree = new int[capacity];
+    }
+
+    /**
+     * Añade el vértice `v` al grafo.
+     *
+     * @param v vértice a añadir.
+     * @return `true` si no estaba anteriormente y `false` en caso contrario.
+     */
+    public boolean addVertex(int v){
+        int before = vertexCount;
+        idOrAdd(v);
+        return vertexCount > before;
+    }
+
+    /**
+     * Añade un arco entre los vértices `v1` y `v2` al grafo. En caso de
+     * que no exista alguno de los vértices, lo añade también.
+     *
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @return `true` si no existía el arco y `false` en caso contrario.
+     */
+    public boolean addEdge(int v1, int v2){
+        int source = idOrAdd(v1);
+        int target = idOrAdd(v2);
+        if (!edges.add(((long) source << 32) | target)) {
+            return false; // El arco ya existía
+        }
+        int[] adjacents = adjacency[source];
+        int d = degree[source];
+        if (adjacents == null) {
+            adjacents = adjacency[source] = new int[4];
+        } else if (d == adjacents.length) {
+            adjacents = adjacency[source] = Arrays.copyOf(adjacents, d << 1);
+        }
+        adjacents[d] = target;
+        degree[source] = d + 1;
+        return true;
+    }
+
+    /**
+     * Comprueba si el grafo contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` es un vértice del grafo.
+     */
+    public boolean containsVertex(int v){
+        return index.get(v) != IntIntHashMap.MISSING;
+    }
+
+    /**
+     * @return número de vértices del grafo.
+     */
+    public int vertexCount(){
+        return vertexCount;
+    }
+
+    /**
+     * @return número de arcos del grafo.
+     */
+    public int edgeCount(){
+        return edges.size();
+    }
+
+    /**
+     * @param v vértice.
+     * @return número de arcos salientes de `v`.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public int outDegree(int v){
+        return degree[existingId(v)];
+    }
+
+    /**
+     * Obtiene los vértices adyacentes a `v`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return array nuevo con los vértices adyacentes, en orden de inserción.
+     * @throws Exception si el vértice no existe en el grafo.
+     */
+    public int[] obtainAdjacents(int v) throws Exception{
+        int id = idOf(v);
+        int[] result = new int[degree[id]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = vertices[adjacency[id][i]];
+        }
+        return result;
+    }
+
+    /**
+     * Recorre los vértices adyacentes a `v` sin crear ninguna colección.
+     *
+     * @param v vértice del que se recorren los adyacentes.
+     * @param action acción que se ejecuta con cada adyacente, en orden de inserción.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public void forEachAdjacent(int v, IntConsumer action){
+        int id = existingId(v);
+        int[] adjacents = adjacency[id];
+        for (int i = 0, d = degree[id]; i < d; i++) {
+            action.accept(vertices[adjacents[i]]);
+        }
+    }
+
+    /**
+     * @return array nuevo con todos los vértices, en orden de inserción.
+     */
+    public int[] vertices(){
+        return Arrays.copyOf(vertices, vertexCount);
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino más corto entre
+     * `v1` y `v2`. En caso contrario, devuelve `null`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return array con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public int[] shortestPath(int v1, int v2){
+        int source = index.get(v1);
+        int target = index.get(v2);
+        if (source == IntIntHashMap.MISSING || target == IntIntHashMap.MISSING) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+
+        if (source == target) {
+            return new int[]{v1}; // Camino de un vértice a sí mismo
+        }
+
+        search.prepare(vertexCount);
+        int[] queue = search.queue;
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = source;
+        search.visit(source, source);
+
+        while (head < tail) {
+            int current = queue[head++];
+            int[] adjacents = adjacency[current];
+            for (int i = 0, d = degree[current]; i < d; i++) {
+                int neighbor = adjacents[i];
+                if (!search.isVisited(neighbor)) {
+                    search.visit(neighbor, current);
+                    if (neighbor == target) {
+                        return buildPath(search.links, source, target);
+                    }
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return null; // No se encontró camino
+    }
+
+    /**
+     * Representación con el mismo formato que {@link Graph#toString()}:
+     * vértices y adyacentes ordenados de menor a mayor.
+     *
+     * @return una cadena de caracteres con la lista de adyacencia.
+     */
+    @Override
+    public String toString(){
+        StringBuilder sb = new StringBuilder();
+        int[] sortedVertices = vertices();
+        Arrays.sort(sortedVertices);
+        for (int v : sortedVertices) {
+            int id = index.get(v);
+            int[] adjacents = new int[degree[id]];
+            for (int i = 0; i < adjacents.length; i++) {
+                adjacents[i] = vertices[adjacency[id][i]];
+            }
+            Arrays.sort(adjacents);
+            sb.append(v).append("=").append(Arrays.toString(adjacents)).append("\n");
+        }
+        return sb.toString();
+    }
+
+    //Reconstruye el camino desde `source` hasta `target` siguiendo los predecesores.
+    private int[] buildPath(int[] predecessor, int source, int target){
+        int length = 1;
+        for (int step = target; step != source; step = predecessor[step]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int step = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = vertices[step];
+            step = predecessor[step];
+        }
+        return path;
+    }
+
+    private int idOf(int v) throws Exception{
+        int id = index.get(v);
+        if (id == IntIntHashMap.MISSING) {
+            throw new Exception("Vertex " + v + " not found in the graph.");
+        }
+        return id;
+    }
+
+    private int existingId(int v){
+        int id = index.get(v);
+        if (id == IntIntHashMap.MISSING) {
+            throw new IllegalArgumentException("Vertex " + v + " not found in the graph.");
+        }
+        return id;
+    }
+
+    private int idOrAdd(int v){
+        int id = index.putIfAbsent(v, vertexCount);
+        if (id != IntIntHashMap.MISSING) {
+            return id;
+        }
+        if (vertexCount == vertices.length) {
+            int capacity = vertexCount << 1;
+            vertices = Arrays.copyOf(vertices, capacity);
+            adjacency = Arrays.copyOf(adjacency, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+        }
+        vertices[vertexCount] = v;
+        return vertexCount++;
+    }
+}
@@ -0,0 +1,106 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Tabla hash de direccionamiento abierto (sondeo lineal) de `int` a `int` sin
+ * objetos envoltorio. Sólo admite valores no negativos: el valor `-1` marca las
+ * posiciones vacías y es lo que devuelve {@link #get(int)} si la clave no está.
+ */
+final class IntIntHashMap{
+
+    static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int resizeThreshold;
+
+    IntIntHashMap(int expectedSize){
+        int capacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR));
+        allocate(capacity);
+    }
+
+    /**
+     * @param key clave buscada.
+     * @return el valor asociado a `key` o {@link #MISSING} si no existe.
+     */
+    int get(int key){
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (values[i] == MISSING) {
+                return MISSING;
+            }
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+    }
+
+    /**
+     * Asocia `value` a `key` si la clave no existía.
+     *
+     * @param key clave.
+     * @param value valor no negativo.
+     * @return el valor previo si la clave ya existía (no se modifica) o {@link #MISSING} si se ha insertado.
+     */
+    int putIfAbsent(int key, int value){
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (values[i] != MISSING) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return MISSING;
+    }
+
+    int size(){
+        return size;
+    }
+
+    private void rehash(int capacity){
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != MISSING) {
+                int i = mix(oldKeys[j]) & mask;
+                while (values[i] != MISSING) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity){
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int mix(int key){
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int tableSizeFor(int n){
+        int capacity = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity too large: " + n);
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,130 @@
+package util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas log-lineales al estilo HDR: los valores
+ * menores que 32 tienen su propia cubeta y, por encima, cada potencia de dos se
+ * divide en 16 cubetas, de modo que el error relativo de cualquier percentil es
+ * como mucho del 6,25 %. Cubre todo el rango positivo de `long` con 960 cubetas.
+ *
+ * El registro no usa bloqueos (un incremento atómico por valor) y puede hacerse
+ * desde cualquier número de hilos a la vez.
+ */
+public final class LatencyHistogram{
+
+    private static final int LINEAR = 32;
+    private static final int SUB_BUCKETS = 16;
+    private static final int BUCKETS = LINEAR + (Long.SIZE - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra un valor.
+     *
+     * @param value valor no negativo (los negativos se registran como 0).
+     */
+    public void record(long value){
+        long v = Math.max(value, 0);
+        counts.incrementAndGet(indexOf(v));
+        total.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * @return número de valores registrados.
+     */
+    public long count(){
+        return total.sum();
+    }
+
+    /**
+     * @return mayor valor registrado, o 0 si no hay ninguno.
+     */
+    public long max(){
+        return max.get();
+    }
+
+    /**
+     * @return media de los valores registrados, o 0 si no hay ninguno.
+     */
+    public double mean(){
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Obtiene el valor por debajo del cual queda el porcentaje pedido de los
+     * registros, redondeado al límite superior de su cubeta.
+     *
+     * @param percentile porcentaje entre 0 y 100.
+     * @return el percentil, o 0 si no hay registros.
+     */
+    public long percentile(double percentile){
+        long n = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Vacía el histograma. Los registros concurrentes con la llamada pueden
+     * conservarse o perderse.
+     */
+    public void reset(){
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * @return resumen con el número de valores, la media y los percentiles 50, 99 y 99,9.
+     */
+    @Override
+    public String toString(){
+        return String.format(Locale.ROOT, "count=%d mean=%.1f p50=%d p99=%d p999=%d max=%d",
+                count(), mean(), percentile(50), percentile(99), percentile(99.9), max());
+    }
+
+    static int indexOf(long v){
+        if (v < LINEAR) {
+            return (int) v;
+        }
+        // Desplazamiento que deja el valor en [16, 32).
+        int shift = (63 - Long.numberOfLeadingZeros(v)) - 4;
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int) ((v >>> shift) - SUB_BUCKETS);
+    }
+
+    static long upperBound(int index){
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,50 @@
+package util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fichero proyectado en memoria de sólo lectura y de cualquier tamaño. Se divide
+ * en segmentos de 1 GB (un `MappedByteBuffer` no puede superar los 2 GB); como el
+ * tamaño de segmento es múltiplo de 4, un `int` alineado nunca queda partido.
+ */
+final class MappedFile{
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    MappedFile(Path file) throws IOException{
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, 1L << SEGMENT_SHIFT));
+            }
+        }
+    }
+
+    long size(){
+        return size;
+    }
+
+    byte get(long position){
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    //`position` debe ser múltiplo de 4.
+    int getInt(long position){
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    long getLong(long position){
+        return (long) getInt(position) << 32 | (getInt(position + 4) & 0xFFFFFFFFL);
+    }
+}
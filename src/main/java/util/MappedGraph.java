@@ -0,0 +1,208 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Grafo de sólo lectura respaldado por un fichero de {@link GraphFile}
+ * proyectado en memoria. Ni el diccionario de vértices ni los arrays CSR se
+ * copian al heap: `containsVertex` hace una búsqueda binaria sobre las claves
+ * del fichero y las búsquedas en anchura guardan su estado en una tabla hash
+ * primitiva proporcional a los vértices visitados.
+ *
+ * Es seguro para uso concurrente, ya que no tiene estado mutable.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class MappedGraph<V>{
+
+    private final MappedFile file;
+    private final VertexCodec<V> codec;
+    private final int vertexCount;
+    private final int edgeCount;
+    //Posiciones de cada sección dentro del fichero.
+    private final long keyOffsetsPosition;
+    private final long keysPosition;
+    private final long offsetsPosition;
+    private final long targetsPosition;
+
+    MappedGraph(MappedFile file, VertexCodec<V> codec, int vertexCount, int edgeCount, long keyBytes){
+        this.file = file;
+        this.codec = codec;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.keyOffsetsPosition = GraphFile.HEADER_SIZE;
+        this.keysPosition = keyOffsetsPosition + 8L * (vertexCount + 1);
+        this.offsetsPosition = keysPosition + keyBytes + GraphFile.padding(keyBytes);
+        this.targetsPosition = offsetsPosition + 4L * (vertexCount + 1);
+    }
+
+    /**
+     * @return número de vértices del grafo.
+     */
+    public int vertexCount(){
+        return vertexCount;
+    }
+
+    /**
+     * @return número de arcos del grafo.
+     */
+    public int edgeCount(){
+        return edgeCount;
+    }
+
+    /**
+     * Obtiene el identificador de `v` en el fichero.
+     *
+     * @param v vértice buscado.
+     * @return identificador en `[0, vertexCount())` o `-1` si `v` no está en el grafo.
+     */
+    public int idOf(V v){
+        byte[] key = codec.encode(v);
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = compareKey(middle, key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param id identificador en `[0, vertexCount())`.
+     * @return el vértice con ese identificador.
+     */
+    public V vertexOf(int id){
+        long start = keyStart(id);
+        byte[] key = new byte[(int) (keyStart(id + 1) - start)];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = file.get(keysPosition + start + i);
+        }
+        return codec.decode(key);
+    }
+
+    /**
+     * Comprueba si el grafo contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` es un vértice del grafo.
+     */
+    public boolean containsVertex(V v){
+        return idOf(v) >= 0;
+    }
+
+    /**
+     * Obtiene el conjunto de vértices adyacentes a `v`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return conjunto de vértices adyacentes.
+     * @throws Exception si el vértice no existe en el grafo.
+     */
+    public Set<V> obtainAdjacents(V v) throws Exception{
+        int id = idOf(v);
+        if (id < 0) {
+            throw new Exception("Vertex " + v + " not found in the graph.");
+        }
+        Set<V> adjacents = new HashSet<>();
+        for (int e = offset(id), end = offset(id + 1); e < end; e++) {
+            adjacents.add(vertexOf(target(e)));
+        }
+        return adjacents;
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino más corto entre
+     * `v1` y `v2`. En caso contrario, devuelve `null`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestPath(V v1, V v2){
+        int source = idOf(v1);
+        int target = idOf(v2);
+        if (source < 0 || target < 0) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+
+        if (source == target) {
+            List<V> path = new ArrayList<>();
+            path.add(v1);
+            return path; // Camino de un vértice a sí mismo
+        }
+
+        // Clave = vértice visitado, Valor = predecesor. Sólo crece con los vértices visitados.
+        IntIntHashMap predecessor = new IntIntHashMap(64);
+        int[] queue = new int[64];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = source;
+        predecessor.putIfAbsent(source, source);
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int e = offset(current), end = offset(current + 1); e < end; e++) {
+                int neighbor = target(e);
+                if (predecessor.putIfAbsent(neighbor, current) == IntIntHashMap.MISSING) {
+                    if (neighbor == target) {
+                        return buildPath(predecessor, source, target);
+                    }
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail << 1);
+                    }
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return null; // No se encontró camino
+    }
+
+    private List<V> buildPath(IntIntHashMap predecessor, int source, int target){
+        List<V> path = new ArrayList<>();
+        for (int step = target; step != source; step = predecessor.get(step)) {
+            path.add(vertexOf(step));
+        }
+        path.add(vertexOf(source));
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int offset(int id){
+        return file.getInt(offsetsPosition + 4L * id);
+    }
+
+    private int target(int edge){
+        return file.getInt(targetsPosition + 4L * edge);
+    }
+
+    private long keyStart(int id){
+        return file.getLong(keyOffsetsPosition + 8L * id);
+    }
+
+    //Compara la clave del vértice `id` con `key` sin copiarla.
+    private int compareKey(int id, byte[] key){
+        long start = keysPosition + keyStart(id);
+        long length = keyStart(id + 1) - keyStart(id);
+        long common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = (file.get(start + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Long.compare(length, key.length);
+    }
+}
@@ -0,0 +1,161 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Búsqueda en anchura desde muchos orígenes a la vez (MS-BFS) sobre un grafo en
+ * formato CSR. Los orígenes se agrupan en lotes de 64 y el estado de cada vértice
+ * en un lote son tres `long` en los que el bit `i` corresponde al origen `i`:
+ * visto, frontera actual y siguiente frontera. Así, cada arco se recorre una vez
+ * por nivel para los 64 orígenes del lote, en lugar de una vez por origen. Cada
+ * nivel sólo visita los vértices de la frontera, que se guardan en una lista.
+ *
+ * Los lotes se reparten entre las tareas de un `ForkJoinPool`; cada tarea
+ * reutiliza sus propios arrays para todos los lotes que procesa.
+ */
+final class MultiSourceBFS{
+
+    private static final int BATCH = Long.SIZE;
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    //Resultados por posición en el array de orígenes.
+    final long[] distanceSum;
+    final int[] reached;
+    final int[] eccentricity;
+    //histogram[d] = pares (origen, vértice) a distancia d, incluido d = 0.
+    long[] histogram;
+
+    MultiSourceBFS(int[] offsets, int[] targets, int sourceCount){
+        this.offsets = offsets;
+        this.targets = targets;
+        this.distanceSum = new long[sourceCount];
+        this.reached = new int[sourceCount];
+        this.eccentricity = new int[sourceCount];
+    }
+
+    /**
+     * Recorre el grafo desde todos los orígenes, que deben ser distintos.
+     */
+    void run(int[] sources, ForkJoinPool pool){
+        int batches = (sources.length + BATCH - 1) / BATCH;
+        int workers = Math.max(1, Math.min(pool.getParallelism(), batches));
+        AtomicInteger nextBatch = new AtomicInteger();
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            tasks.add(pool.submit(() -> {
+                State state = new State(offsets.length - 1);
+                long[] localHistogram = new long[16];
+                for (int b = nextBatch.getAndIncrement(); b < batches; b = nextBatch.getAndIncrement()) {
+                    int from = b * BATCH;
+                    localHistogram = runBatch(sources, from, Math.min(BATCH, sources.length - from), state,
+                            localHistogram);
+                }
+                return localHistogram;
+            }));
+        }
+        long[] total = new long[1];
+        for (ForkJoinTask<long[]> task : tasks) {
+            long[] partial = task.join();
+            if (partial.length > total.length) {
+                total = Arrays.copyOf(total, partial.length);
+            }
+            for (int d = 0; d < partial.length; d++) {
+                total[d] += partial[d];
+            }
+        }
+        int length = total.length;
+        while (length > 1 && total[length - 1] == 0) {
+            length--;
+        }
+        histogram = Arrays.copyOf(total, length);
+    }
+
+    //Procesa los orígenes sources[from .. from+count). Devuelve el histograma local,
+    //ampliado si hace falta.
+    private long[] runBatch(int[] sources, int from, int count, State state, long[] localHistogram){
+        long[] seen = state.seen;
+        long[] visit = state.visit;
+        long[] visitNext = state.visitNext;
+        Arrays.fill(seen, 0);
+        int frontierSize = 0;
+        for (int i = 0; i < count; i++) {
+            int source = sources[from + i];
+            long bit = 1L << i;
+            seen[source] |= bit;
+            visit[source] |= bit;
+            state.frontier[frontierSize++] = source;
+            reached[from + i] = 1;
+        }
+        localHistogram[0] += count;
+
+        for (int d = 1; frontierSize > 0; d++) {
+            int[] frontier = state.frontier;
+            int[] nextFrontier = state.nextFrontier;
+            int nextSize = 0;
+            // Expansión: cada vértice de la frontera propaga a sus adyacentes los
+            // bits de los orígenes que aún no los han visto.
+            for (int f = 0; f < frontierSize; f++) {
+                int v = frontier[f];
+                long bits = visit[v];
+                visit[v] = 0;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    long discovered = bits & ~seen[w];
+                    if (discovered != 0) {
+                        if (visitNext[w] == 0) {
+                            nextFrontier[nextSize++] = w;
+                        }
+                        visitNext[w] |= discovered;
+                    }
+                }
+            }
+            // Cierre del nivel: los bits nuevos pasan a vistos y forman la nueva frontera.
+            if (nextSize > 0 && d >= localHistogram.length) {
+                localHistogram = Arrays.copyOf(localHistogram, localHistogram.length << 1);
+            }
+            for (int f = 0; f < nextSize; f++) {
+                int w = nextFrontier[f];
+                long discovered = visitNext[w];
+                visitNext[w] = 0;
+                visit[w] = discovered;
+                seen[w] |= discovered;
+                localHistogram[d] += Long.bitCount(discovered);
+                for (long bits = discovered; bits != 0; bits &= bits - 1) {
+                    int i = from + Long.numberOfTrailingZeros(bits);
+                    distanceSum[i] += d;
+                    reached[i]++;
+                    eccentricity[i] = d;
+                }
+            }
+            state.frontier = nextFrontier;
+            state.nextFrontier = frontier;
+            frontierSize = nextSize;
+        }
+        return localHistogram;
+    }
+
+    //Arrays de trabajo de una tarea, reutilizados entre lotes.
+    private static final class State{
+        final long[] seen;
+        final long[] visit;
+        final long[] visitNext;
+        //Vértices con bits en `visit` y en `visitNext`, respectivamente.
+        int[] frontier;
+        int[] nextFrontier;
+
+        State(int n){
+            seen = new long[n];
+            visit = new long[n];
+            visitNext = new long[n];
+            frontier = new int[n];
+            nextFrontier = new int[n];
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Tabla hash de direccionamiento abierto (sondeo lineal) de objetos a `int`,
+ * sin nodos por entrada: insertar una clave no crea ningún objeto salvo cuando
+ * hay que ampliar la tabla. Sólo admite claves no nulas y valores no negativos;
+ * el valor `-1` marca las posiciones vacías y es lo que devuelve
+ * {@link #get(Object)} si la clave no está.
+ *
+ * @param <K> tipo de las claves.
+ */
+final class ObjectIntHashMap<K>{
+
+    static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+    private int resizeThreshold;
+
+    ObjectIntHashMap(int expectedSize){
+        int capacity = IntIntHashMap.tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR));
+        allocate(capacity);
+    }
+
+    /**
+     * @param key clave buscada.
+     * @return el valor asociado a `key` o {@link #MISSING} si no existe.
+     */
+    int get(Object key){
+        int mask = keys.length - 1;
+        for (int i = IntIntHashMap.mix(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+            if (values[i] == MISSING) {
+                return MISSING;
+            }
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+        }
+    }
+
+    /**
+     * Asocia `value` a `key` si la clave no existía.
+     *
+     * @param key clave no nula.
+     * @param value valor no negativo.
+     * @return el valor previo si la clave ya existía (no se modifica) o {@link #MISSING} si se ha insertado.
+     */
+    int putIfAbsent(K key, int value){
+        int mask = keys.length - 1;
+        int i = IntIntHashMap.mix(key.hashCode()) & mask;
+        while (values[i] != MISSING) {
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return MISSING;
+    }
+
+    int size(){
+        return size;
+    }
+
+    private void rehash(int capacity){
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != MISSING) {
+                int i = IntIntHashMap.mix(oldKeys[j].hashCode()) & mask;
+                while (values[i] != MISSING) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity){
+        keys = new Object[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
@@ -0,0 +1,522 @@
+package util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Grafo dirigido con la misma API básica que {@link Graph}, pero con los arcos
+ * fuera del heap. En el heap sólo queda el diccionario vértice <-> identificador
+ * denso; los adyacentes y los predecesores de cada vértice son dos bloques de
+ * `int` en un {@link SlabAllocator} que se duplican al llenarse (el bloque
+ * antiguo vuelve a la lista libre de su tamaño), y tanto el directorio de
+ * bloques por vértice como el conjunto de arcos que detecta duplicados también
+ * están en losas directas. Así, el recolector sólo recorre el diccionario, no
+ * los arcos.
+ *
+ * Las búsquedas (simple, bidireccional y los recorridos de
+ * {@link #newTraversal()}) leen los bloques directamente; las dos primeras
+ * reutilizan entre consultas sus colas y marcas de visitado. La exportación
+ * ({@link #writeTo}) y la instantánea CSR ({@link #freeze()}, y con ella
+ * `GraphAnalytics`, `DistanceOracle` o `ReachabilityIndex`) funcionan igual que
+ * sobre {@link Graph}. De la API de {@link Graph} faltan las eliminaciones
+ * (`removeEdge`, `removeVertex` y el modo de borrado diferido), los orígenes
+ * registrados (`registerSource`, `distanceFrom`), el índice de alcanzabilidad
+ * (`isReachable`), `adjacentsView`, `bfsDistances`, las consultas con límites
+ * (`shortestPath` con `PathQueryOptions`), `shortestPaths` por lotes y las
+ * métricas de {@link GraphMetrics}.
+ *
+ * La memoria directa se devuelve cuando el grafo deja de ser alcanzable; su
+ * tope lo fija `-XX:MaxDirectMemorySize`. No es seguro para uso concurrente.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class OffHeapGraph<V>{
+
+    //Entradas del directorio por página: bloque de adyacentes y bloque de predecesores,
+    //cada uno con su dirección (long), grado y capacidad (int).
+    private static final int PAGE_SHIFT = 12;
+    private static final int ENTRY_BYTES = 32;
+    private static final int INCOMING = 16;
+    private static final int DEGREE = 8;
+    private static final int CAPACITY = 12;
+
+    private final SlabAllocator memory;
+    //Vértice -> identificador denso.
+    private final Map<V, Integer> ids = new HashMap<>();
+    //Identificador -> vértice.
+    private final List<V> vertices = new ArrayList<>();
+    //Páginas del directorio de bloques, cada una con 2^PAGE_SHIFT entradas.
+    private long[] pages = new long[16];
+    //Arcos como pares (origen, destino) de identificadores, para detectar duplicados.
+    private final OffHeapLongSet edges;
+    //Estado de las búsquedas desde cada extremo, reutilizado entre consultas; `links`
+    //guarda el vértice anterior (hacia el origen) o siguiente (hacia el destino).
+    private final SearchBuffers forward = new SearchBuffers();
+    private final SearchBuffers backward = new SearchBuffers();
+
+    /**
+     * Crea un grafo vacío con losas de 1 MB.
+     */
+    public OffHeapGraph(){
+        this(1 << 20);
+    }
+
+    /**
+     * @param slabBytes tamaño de cada losa de memoria directa; se redondea a una
+     * potencia de dos de al menos 4 KB.
+     */
+    public OffHeapGraph(int slabBytes){
+        memory = new SlabAllocator(slabBytes);
+        edges = new OffHeapLongSet(memory, 16);
+    }
+
+    /**
+     * Añade el vértice `v` al grafo.
+     *
+     * @param v vértice a añadir.
+     * @return `true` si no estaba anteriormente y `false` en caso contrario.
+     */
+    public boolean addVertex(V v){
+        int before = vertices.size();
+        idOrAdd(v);
+        return vertices.size() > before;
+    }
+
+    /**
+     * Añade un arco entre los vértices `v1` y `v2` al grafo. En caso de
+     * que no exista alguno de los vértices, lo añade también.
+     *
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @return `true` si no existía el arco y `false` en caso contrario.
+     */
+    public boolean addEdge(V v1, V v2){
+        int source = idOrAdd(v1);
+        int target = idOrAdd(v2);
+        if (!edges.add(((long) source << 32) | target)) {
+            return false; // El arco ya existía
+        }
+        append(entry(source), target);
+        append(entry(target) + INCOMING, source);
+        return true;
+    }
+
+    //Añade `value` al bloque descrito en `entry` (dirección, grado y capacidad),
+    //duplicando su capacidad si está lleno.
+    private void append(long entry, int value){
+        long block = memory.getLong(entry);
+        int d = memory.getInt(entry + DEGREE);
+        int capacity = memory.getInt(entry + CAPACITY);
+        if (d == capacity) {
+            int newCapacity = capacity == 0 ? 4 : capacity << 1;
+            long newBlock = memory.allocate(newCapacity << 2);
+            if (capacity > 0) {
+                memory.copy(block, newBlock, d << 2);
+                memory.free(block, capacity << 2);
+            }
+            block = newBlock;
+            memory.putLong(entry, block);
+            memory.putInt(entry + CAPACITY, newCapacity);
+        }
+        memory.putInt(block + ((long) d << 2), value);
+        memory.putInt(entry + DEGREE, d + 1);
+    }
+
+    /**
+     * Comprueba si el grafo contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` es un vértice del grafo.
+     */
+    public boolean containsVertex(V v){
+        return ids.containsKey(v);
+    }
+
+    /**
+     * @return número de vértices del grafo.
+     */
+    public int vertexCount(){
+        return vertices.size();
+    }
+
+    /**
+     * @return número de arcos del grafo.
+     */
+    public int edgeCount(){
+        return edges.size();
+    }
+
+    /**
+     * Obtiene el conjunto de vértices adyacentes a `v`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return conjunto de vértices adyacentes.
+     * @throws Exception si el vértice no existe en el grafo.
+     */
+    public Set<V> obtainAdjacents(V v) throws Exception{
+        Integer id = ids.get(v);
+        if (id == null) {
+            throw new Exception("Vertex " + v + " not found in the graph.");
+        }
+        return new HashSet<>(new BlockSet(id));
+    }
+
+    /**
+     * Ejecuta `action` con cada adyacente de `v`, sin crear ninguna colección.
+     *
+     * @param v vértice del que se recorren los adyacentes.
+     * @param action acción que se ejecuta con cada adyacente.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public void forEachAdjacent(V v, Consumer<? super V> action){
+        long entry = entry(idOf(v));
+        long block = memory.getLong(entry);
+        int degree = memory.getInt(entry + DEGREE);
+        if (degree == 0) {
+            return;
+        }
+        ByteBuffer slab = memory.slab(block);
+        int base = SlabAllocator.offset(block);
+        for (int i = 0; i < degree; i++) {
+            action.accept(vertices.get(slab.getInt(base + (i << 2))));
+        }
+    }
+
+    /**
+     * @param v vértice.
+     * @return número de arcos salientes de `v`.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public int outDegree(V v){
+        return memory.getInt(entry(idOf(v)) + DEGREE);
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino más corto entre
+     * `v1` y `v2`. En caso contrario, devuelve `null`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestPath(V v1, V v2){
+        return search(v1, v2, false);
+    }
+
+    /**
+     * Obtiene el camino más corto entre `v1` y `v2` con una búsqueda en anchura
+     * bidireccional sobre los bloques de adyacentes y de predecesores. Devuelve un
+     * camino de la misma longitud que {@link #shortestPath(Object, Object)}.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices de un camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     * @see Graph#shortestPathBidirectional(Object, Object)
+     */
+    public List<V> shortestPathBidirectional(V v1, V v2){
+        return search(v1, v2, true);
+    }
+
+    /**
+     * Crea un contexto de recorrido reutilizable que lee los bloques de
+     * adyacentes directamente. Cada hilo debe usar su propio contexto.
+     *
+     * @return un contexto nuevo para recorridos BFS/DFS y caminos más cortos.
+     * @see Graph#newTraversal()
+     */
+    public Traversal<V> newTraversal(){
+        return new Traversal<>(new AdjacencyView(), () -> { });
+    }
+
+    //Búsqueda por niveles desde ambos extremos. Sin `bidirectional`, el extremo
+    //del destino no se expande y la búsqueda es una BFS simple desde el origen.
+    private List<V> search(V v1, V v2, boolean bidirectional){
+        Integer source = ids.get(v1);
+        Integer target = ids.get(v2);
+        if (source == null || target == null) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+        if (source.equals(target)) {
+            List<V> path = new ArrayList<>();
+            path.add(v1);
+            return path; // Camino de un vértice a sí mismo
+        }
+        forward.prepare(vertices.size());
+        backward.prepare(vertices.size());
+        forward.visit(source, -1);
+        forward.queue[0] = source;
+        backward.visit(target, -1);
+        backward.queue[0] = target;
+        // Frontera de cada extremo: queue[head, tail).
+        int forwardHead = 0;
+        int forwardTail = 1;
+        int backwardHead = 0;
+        int backwardTail = 1;
+        int meeting = -1;
+        while (meeting < 0 && forwardHead < forwardTail && backwardHead < backwardTail) {
+            if (!bidirectional || forwardTail - forwardHead <= backwardTail - backwardHead) {
+                int levelEnd = forwardTail;
+                forwardTail = expandLevel(forward, forwardHead, forwardTail, 0, backward);
+                forwardHead = levelEnd;
+            } else {
+                int levelEnd = backwardTail;
+                backwardTail = expandLevel(backward, backwardHead, backwardTail, INCOMING, forward);
+                backwardHead = levelEnd;
+            }
+            if (forwardTail < 0) {
+                meeting = -forwardTail - 1;
+            } else if (backwardTail < 0) {
+                meeting = -backwardTail - 1;
+            }
+        }
+        if (meeting < 0) {
+            return null; // No se encontró camino
+        }
+        List<V> path = new ArrayList<>();
+        for (int step = meeting; step >= 0; step = forward.links[step]) {
+            path.add(vertices.get(step));
+        }
+        Collections.reverse(path);
+        for (int step = backward.links[meeting]; step >= 0; step = backward.links[step]) {
+            path.add(vertices.get(step));
+        }
+        return path;
+    }
+
+    //Expande el nivel side.queue[head, tail) por los bloques en `direction` (0 para los
+    //adyacentes, INCOMING para los predecesores). Devuelve el nuevo final de la cola
+    //o, si alcanza un vértice marcado desde el otro extremo `m`, -(m + 1).
+    private int expandLevel(SearchBuffers side, int head, int tail, int direction, SearchBuffers other){
+        int[] queue = side.queue;
+        int next = tail;
+        for (int i = head; i < tail; i++) {
+            int current = queue[i];
+            long entry = entry(current) + direction;
+            int degree = memory.getInt(entry + DEGREE);
+            if (degree == 0) {
+                continue;
+            }
+            long block = memory.getLong(entry);
+            ByteBuffer slab = memory.slab(block);
+            int base = SlabAllocator.offset(block);
+            for (int j = 0; j < degree; j++) {
+                int neighbor = slab.getInt(base + (j << 2));
+                if (!side.isVisited(neighbor)) {
+                    side.visit(neighbor, current);
+                    if (other.isVisited(neighbor)) {
+                        return -neighbor - 1;
+                    }
+                    queue[next++] = neighbor;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Crea una instantánea inmutable del grafo en formato CSR, en el heap. Los
+     * identificadores de la instantánea siguen el orden de inserción de los vértices.
+     *
+     * @return la instantánea del estado actual del grafo.
+     */
+    public FrozenGraph<V> freeze(){
+        return new FrozenGraph<>(new AdjacencyView());
+    }
+
+    /**
+     * Escribe el grafo en `out` de forma incremental, leyendo los bloques
+     * directamente, sin copiar la lista de adyacencia al heap.
+     *
+     * @param out destino del texto.
+     * @param format formato de salida.
+     * @param sorted si se escriben ordenados los vértices y sus adyacentes.
+     * @throws IOException si falla la escritura en `out`.
+     * @see Graph#writeTo(Appendable, GraphFormat, boolean)
+     */
+    public void writeTo(Appendable out, GraphFormat format, boolean sorted) throws IOException{
+        GraphWriter.write(new AdjacencyView(), out, format, sorted);
+    }
+
+    /**
+     * @return bytes de memoria directa reservados por el grafo.
+     */
+    public long offHeapBytes(){
+        return memory.reservedBytes();
+    }
+
+    /**
+     * @return bytes de memoria directa ocupados por bloques en uso; el resto de
+     * lo reservado está en listas libres o al final de la última losa.
+     */
+    public long usedOffHeapBytes(){
+        return memory.usedBytes();
+    }
+
+    /**
+     * @return resumen de la ocupación de memoria directa.
+     */
+    public String footprint(){
+        return String.format(Locale.ROOT, "%d vertices, %d edges, off-heap %.1f MB reserved (%.1f MB used) in %d slabs",
+                vertexCount(), edgeCount(), offHeapBytes() / 1e6, usedOffHeapBytes() / 1e6, memory.slabCount());
+    }
+
+    /**
+     * Mismo formato que {@link Graph#toString()}.
+     *
+     * @return una cadena de caracteres con la lista de adyacencia.
+     */
+    @Override
+    public String toString(){
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb, GraphFormat.ADJACENCY_LIST, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder no lanza IOException
+        }
+        return sb.toString();
+    }
+
+    private int idOf(V v){
+        Integer id = ids.get(v);
+        if (id == null) {
+            throw new IllegalArgumentException("Vertex " + v + " not found in the graph.");
+        }
+        return id;
+    }
+
+    private int idOrAdd(V v){
+        Integer id = ids.get(v);
+        if (id != null) {
+            return id;
+        }
+        int newId = vertices.size();
+        int page = newId >>> PAGE_SHIFT;
+        if ((newId & ((1 << PAGE_SHIFT) - 1)) == 0) {
+            if (page == pages.length) {
+                pages = Arrays.copyOf(pages, page << 1);
+            }
+            pages[page] = memory.allocate(ENTRY_BYTES << PAGE_SHIFT);
+        }
+        long entry = entry(newId);
+        memory.putLong(entry, 0);
+        memory.putInt(entry + DEGREE, 0);
+        memory.putInt(entry + CAPACITY, 0);
+        memory.putLong(entry + INCOMING, 0);
+        memory.putInt(entry + INCOMING + DEGREE, 0);
+        memory.putInt(entry + INCOMING + CAPACITY, 0);
+        ids.put(v, newId);
+        vertices.add(v);
+        return newId;
+    }
+
+    //Dirección de la entrada del directorio del vértice `id`.
+    private long entry(int id){
+        return pages[id >>> PAGE_SHIFT] + (long) (id & ((1 << PAGE_SHIFT) - 1)) * ENTRY_BYTES;
+    }
+
+    //Vista de sólo lectura como lista de adyacencia, en orden de identificadores,
+    //para reutilizar GraphWriter y el constructor de FrozenGraph sin copias.
+    private final class AdjacencyView extends AbstractMap<V, Set<V>>{
+
+        @Override
+        public int size(){
+            return vertices.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key){
+            return ids.containsKey(key);
+        }
+
+        @Override
+        public Set<V> get(Object key){
+            Integer id = ids.get(key);
+            return id == null ? null : new BlockSet(id);
+        }
+
+        @Override
+        public Set<Map.Entry<V, Set<V>>> entrySet(){
+            return new AbstractSet<Map.Entry<V, Set<V>>>(){
+                @Override
+                public int size(){
+                    return vertices.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<V, Set<V>>> iterator(){
+                    return new Iterator<Map.Entry<V, Set<V>>>(){
+                        private int next;
+
+                        @Override
+                        public boolean hasNext(){
+                            return next < vertices.size();
+                        }
+
+                        @Override
+                        public Map.Entry<V, Set<V>> next(){
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int id = next++;
+                            return new AbstractMap.SimpleImmutableEntry<>(vertices.get(id), new BlockSet(id));
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    //Adyacentes de un vértice leídos directamente de su bloque.
+    private final class BlockSet extends AbstractSet<V>{
+        private final int id;
+
+        BlockSet(int id){
+            this.id = id;
+        }
+
+        @Override
+        public int size(){
+            return memory.getInt(entry(id) + DEGREE);
+        }
+
+        @Override
+        public Iterator<V> iterator(){
+            long entry = entry(id);
+            long block = memory.getLong(entry);
+            int degree = memory.getInt(entry + DEGREE);
+            return new Iterator<V>(){
+                private int next;
+
+                @Override
+                public boolean hasNext(){
+                    return next < degree;
+                }
+
+                @Override
+                public V next(){
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return vertices.get(memory.getInt(block + ((long) next++ << 2)));
+                }
+            };
+        }
+    }
+}
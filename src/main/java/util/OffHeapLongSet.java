@@ -0,0 +1,106 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conjunto de `long` con direccionamiento abierto (sondeo lineal), como
+ * {@link LongHashSet}, pero con la tabla en un bloque de un {@link SlabAllocator}.
+ * El valor `-1` se reserva para marcar posiciones vacías y no puede almacenarse.
+ */
+final class OffHeapLongSet{
+
+    private static final long EMPTY = -1L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final SlabAllocator memory;
+    private long table;
+    private int capacity;
+    private int size;
+    private int resizeThreshold;
+
+    OffHeapLongSet(SlabAllocator memory, int expectedSize){
+        this.memory = memory;
+        allocate(IntIntHashMap.tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR)));
+    }
+
+    /**
+     * @param key valor distinto de `-1`.
+     * @return `true` si el valor no estaba en el conjunto.
+     */
+    boolean add(long key){
+        ByteBuffer slab = memory.slab(table);
+        int base = SlabAllocator.offset(table);
+        int mask = capacity - 1;
+        int i = mix(key) & mask;
+        long current;
+        while ((current = slab.getLong(base + (i << 3))) != EMPTY) {
+            if (current == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slab.putLong(base + (i << 3), key);
+        if (++size > resizeThreshold) {
+            rehash(capacity << 1);
+        }
+        return true;
+    }
+
+    boolean contains(long key){
+        ByteBuffer slab = memory.slab(table);
+        int base = SlabAllocator.offset(table);
+        int mask = capacity - 1;
+        long current;
+        for (int i = mix(key) & mask; (current = slab.getLong(base + (i << 3))) != EMPTY; i = (i + 1) & mask) {
+            if (current == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size(){
+        return size;
+    }
+
+    private void rehash(int newCapacity){
+        long oldTable = table;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        ByteBuffer oldSlab = memory.slab(oldTable);
+        int oldBase = SlabAllocator.offset(oldTable);
+        ByteBuffer slab = memory.slab(table);
+        int base = SlabAllocator.offset(table);
+        int mask = newCapacity - 1;
+        for (int j = 0; j < oldCapacity; j++) {
+            long key = oldSlab.getLong(oldBase + (j << 3));
+            if (key != EMPTY) {
+                int i = mix(key) & mask;
+                while (slab.getLong(base + (i << 3)) != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                slab.putLong(base + (i << 3), key);
+            }
+        }
+        memory.free(oldTable, oldCapacity << 3);
+    }
+
+    private void allocate(int newCapacity){
+        if (newCapacity > 1 << 27) {
+            throw new IllegalStateException("Off-heap set too large: " + size + " keys");
+        }
+        table = memory.allocate(newCapacity << 3);
+        capacity = newCapacity;
+        ByteBuffer slab = memory.slab(table);
+        int base = SlabAllocator.offset(table);
+        for (int i = 0; i < newCapacity; i++) {
+            slab.putLong(base + (i << 3), EMPTY);
+        }
+        resizeThreshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key){
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
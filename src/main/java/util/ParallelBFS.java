@@ -0,0 +1,243 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Búsqueda en anchura paralela de un solo origen con optimización de dirección
+ * (Beamer et al.) sobre un grafo en formato CSR con su CSR inverso.
+ *
+ * Se avanza nivel a nivel. En modo top-down cada vértice de la frontera reclama
+ * con CAS a sus adyacentes no visitados; en modo bottom-up cada vértice no
+ * visitado busca entre sus arcos entrantes alguno que venga de la frontera y se
+ * detiene al primero. El bottom-up compensa cuando la frontera acumula una
+ * fracción grande de los arcos pendientes, lo habitual en los niveles centrales
+ * de grafos de diámetro pequeño.
+ */
+final class ParallelBFS{
+
+    //Umbrales de cambio de dirección propuestos por Beamer et al.
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    //Vértices de la frontera que procesa cada tarea top-down.
+    private static final int TOP_DOWN_GRAIN = 1024;
+    //Vértices que procesa cada tarea bottom-up; múltiplo de 64 para que cada
+    //palabra del mapa de bits de la siguiente frontera pertenezca a una sola tarea.
+    private static final int BOTTOM_UP_GRAIN = 64 * 64;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int n;
+
+    //parent[v] == -1 indica que v no ha sido visitado; el origen es su propio padre.
+    private final AtomicIntegerArray parent;
+    private final int[] distance;
+
+    //Frontera actual y siguiente como lista (top-down) y como mapa de bits (bottom-up).
+    private int[] frontier;
+    private int frontierSize;
+    private int[] next;
+    private final AtomicInteger nextSize = new AtomicInteger();
+    private long[] frontierBits;
+    private long[] nextBits;
+    //Arcos salientes de los vértices descubiertos en el último nivel.
+    private final AtomicLong discoveredEdges = new AtomicLong();
+
+    ParallelBFS(int[] offsets, int[] targets, int[] inOffsets, int[] inSources){
+        this.offsets = offsets;
+        this.targets = targets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.n = offsets.length - 1;
+        this.parent = new AtomicIntegerArray(n);
+        this.distance = new int[n];
+    }
+
+    void run(int source, ForkJoinPool pool){
+        Arrays.fill(distance, -1);
+        for (int v = 0; v < n; v++) {
+            parent.lazySet(v, -1);
+        }
+        parent.set(source, source);
+        distance[source] = 0;
+
+        frontier = new int[n];
+        next = new int[n];
+        frontier[0] = source;
+        frontierSize = 1;
+
+        long frontierEdges = outDegree(source);
+        long unexploredEdges = targets.length - frontierEdges;
+        boolean bottomUp = false;
+        int level = 0;
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                listToBits();
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bitsToList();
+                bottomUp = false;
+            }
+
+            discoveredEdges.set(0);
+            nextSize.set(0);
+            if (bottomUp) {
+                pool.invoke(new BottomUpStep(0, n, level));
+                long[] swap = frontierBits;
+                frontierBits = nextBits;
+                nextBits = swap;
+            } else {
+                pool.invoke(new TopDownStep(0, frontierSize, level));
+                int[] swap = frontier;
+                frontier = next;
+                next = swap;
+            }
+            frontierSize = nextSize.get();
+            frontierEdges = discoveredEdges.get();
+            unexploredEdges -= frontierEdges;
+            level++;
+        }
+    }
+
+    int[] distance(){
+        return distance;
+    }
+
+    int[] parent(){
+        int[] result = new int[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = parent.get(v);
+        }
+        return result;
+    }
+
+    private int outDegree(int v){
+        return offsets[v + 1] - offsets[v];
+    }
+
+    private void listToBits(){
+        if (frontierBits == null) {
+            frontierBits = new long[(n + 63) >>> 6];
+            nextBits = new long[frontierBits.length];
+        } else {
+            Arrays.fill(frontierBits, 0L);
+        }
+        for (int i = 0; i < frontierSize; i++) {
+            int v = frontier[i];
+            frontierBits[v >>> 6] |= 1L << v;
+        }
+    }
+
+    private void bitsToList(){
+        int size = 0;
+        for (int w = 0; w < frontierBits.length; w++) {
+            long word = frontierBits[w];
+            while (word != 0) {
+                frontier[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        frontierSize = size;
+    }
+
+    //Expande frontier[from .. to): cada adyacente no visitado se reclama con CAS.
+    private final class TopDownStep extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int level;
+
+        TopDownStep(int from, int to, int level){
+            this.from = from;
+            this.to = to;
+            this.level = level;
+        }
+
+        @Override
+        protected void compute(){
+            if (to - from > TOP_DOWN_GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TopDownStep(from, middle, level), new TopDownStep(middle, to, level));
+                return;
+            }
+            int[] discovered = new int[64];
+            int count = 0;
+            long edges = 0;
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (parent.get(v) == -1 && parent.compareAndSet(v, -1, u)) {
+                        distance[v] = level + 1;
+                        edges += outDegree(v);
+                        if (count == discovered.length) {
+                            discovered = Arrays.copyOf(discovered, count << 1);
+                        }
+                        discovered[count++] = v;
+                    }
+                }
+            }
+            if (count > 0) {
+                int start = nextSize.getAndAdd(count);
+                System.arraycopy(discovered, 0, next, start, count);
+                discoveredEdges.addAndGet(edges);
+            }
+        }
+    }
+
+    //Busca un padre en la frontera para cada vértice no visitado de [from, to).
+    private final class BottomUpStep extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int level;
+
+        BottomUpStep(int from, int to, int level){
+            this.from = from;
+            this.to = to;
+            this.level = level;
+        }
+
+        @Override
+        protected void compute(){
+            if (to - from > BOTTOM_UP_GRAIN) {
+                // El punto de corte se alinea a 64 para no compartir palabras de nextBits.
+                int middle = ((from + to) >>> 1) & ~63;
+                invokeAll(new BottomUpStep(from, middle, level), new BottomUpStep(middle, to, level));
+                return;
+            }
+            Arrays.fill(nextBits, from >>> 6, (to + 63) >>> 6, 0L);
+            int count = 0;
+            long edges = 0;
+            for (int v = from; v < to; v++) {
+                if (parent.get(v) != -1) {
+                    continue;
+                }
+                for (int e = inOffsets[v]; e < inOffsets[v + 1]; e++) {
+                    int u = inSources[e];
+                    if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+                        parent.lazySet(v, u);
+                        distance[v] = level + 1;
+                        nextBits[v >>> 6] |= 1L << v;
+                        edges += outDegree(v);
+                        count++;
+                        break;
+                    }
+                }
+            }
+            if (count > 0) {
+                nextSize.addAndGet(count);
+                discoveredEdges.addAndGet(edges);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límites de una consulta de camino más corto con
+ * {@link Graph#shortestPath(Object, Object, PathQueryOptions)}: profundidad
+ * máxima en arcos, número máximo de vértices visitados, plazo y token de
+ * cancelación. Es inmutable; cada método `with...` devuelve una copia con ese
+ * límite cambiado, así que una misma instancia se puede compartir entre hilos y
+ * consultas.
+ */
+public final class PathQueryOptions{
+
+    private static final PathQueryOptions UNBOUNDED =
+            new PathQueryOptions(Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+    private final int maxDepth;
+    private final int maxVisited;
+    //Tiempo máximo desde el inicio de la consulta, o Long.MAX_VALUE sin límite.
+    private final long timeoutNanos;
+    private final CancellationToken cancellation;
+
+    private PathQueryOptions(int maxDepth, int maxVisited, long timeoutNanos, CancellationToken cancellation){
+        this.maxDepth = maxDepth;
+        this.maxVisited = maxVisited;
+        this.timeoutNanos = timeoutNanos;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * @return opciones sin ningún límite: la consulta equivale a `shortestPath(v1, v2)`.
+     */
+    public static PathQueryOptions unbounded(){
+        return UNBOUNDED;
+    }
+
+    /**
+     * @param maxDepth número máximo de arcos del camino, no negativo.
+     * @return una copia con ese límite.
+     */
+    public PathQueryOptions withMaxDepth(int maxDepth){
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Invalid max depth: " + maxDepth);
+        }
+        return new PathQueryOptions(maxDepth, maxVisited, timeoutNanos, cancellation);
+    }
+
+    /**
+     * @param maxVisited número máximo de vértices visitados (el origen incluido), positivo.
+     * @return una copia con ese límite.
+     */
+    public PathQueryOptions withMaxVisited(int maxVisited){
+        if (maxVisited <= 0) {
+            throw new IllegalArgumentException("Invalid max visited: " + maxVisited);
+        }
+        return new PathQueryOptions(maxDepth, maxVisited, timeoutNanos, cancellation);
+    }
+
+    /**
+     * @param timeout tiempo máximo de la consulta, contado desde que empieza.
+     * @param unit unidad de `timeout`.
+     * @return una copia con ese plazo.
+     */
+    public PathQueryOptions withTimeout(long timeout, TimeUnit unit){
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Invalid timeout: " + timeout);
+        }
+        return new PathQueryOptions(maxDepth, maxVisited, unit.toNanos(timeout), cancellation);
+    }
+
+    /**
+     * @param cancellation token que se comprueba durante la búsqueda.
+     * @return una copia con ese token.
+     */
+    public PathQueryOptions withCancellation(CancellationToken cancellation){
+        return new PathQueryOptions(maxDepth, maxVisited, timeoutNanos, cancellation);
+    }
+
+    /**
+     * @return número máximo de arcos del camino.
+     */
+    public int maxDepth(){
+        return maxDepth;
+    }
+
+    /**
+     * @return número máximo de vértices visitados.
+     */
+    public int maxVisited(){
+        return maxVisited;
+    }
+
+    /**
+     * @return tiempo máximo en nanosegundos, o `Long.MAX_VALUE` si no hay plazo.
+     */
+    public long timeoutNanos(){
+        return timeoutNanos;
+    }
+
+    /**
+     * @return el token de cancelación, o `null` si no hay.
+     */
+    public CancellationToken cancellation(){
+        return cancellation;
+    }
+
+    //Instante (en la escala de System.nanoTime) en que vence el plazo de una
+    //consulta empezada en `start`, saturado para no desbordar.
+    long deadline(long start){
+        long deadline = start + timeoutNanos;
+        return timeoutNanos == Long.MAX_VALUE || deadline < start ? Long.MAX_VALUE : deadline;
+    }
+}
@@ -0,0 +1,112 @@
+package util;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Resultado de una consulta de camino con límites: el estado, el camino si se
+ * encontró y lo que llegó a explorar la búsqueda, también cuando se detuvo por
+ * agotar algún límite.
+ *
+ * @param <V> tipo de los vértices.
+ * @see Graph#shortestPath(Object, Object, PathQueryOptions)
+ */
+public final class PathResult<V>{
+
+    /**
+     * Desenlace de la consulta.
+     */
+    public enum Status{
+        /** Se encontró un camino más corto. */
+        FOUND,
+        /** Se demostró que no hay camino (o alguno de los vértices no existe). */
+        UNREACHABLE,
+        /** La búsqueda se detuvo por un límite antes de poder decidir. */
+        BUDGET_EXHAUSTED
+    }
+
+    /**
+     * Límite que detuvo una búsqueda con estado `BUDGET_EXHAUSTED`.
+     */
+    public enum Limit{
+        DEPTH,
+        VISITED,
+        DEADLINE,
+        CANCELLED
+    }
+
+    private final Status status;
+    private final Limit limit;
+    private final List<V> path;
+    private final int visited;
+    private final long edgesScanned;
+    private final int depth;
+    private final long elapsedNanos;
+
+    PathResult(Status status, Limit limit, List<V> path, int visited, long edgesScanned, int depth, long elapsedNanos){
+        this.status = status;
+        this.limit = limit;
+        this.path = path;
+        this.visited = visited;
+        this.edgesScanned = edgesScanned;
+        this.depth = depth;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return el desenlace de la consulta.
+     */
+    public Status status(){
+        return status;
+    }
+
+    /**
+     * @return el límite agotado, o `null` si el estado no es `BUDGET_EXHAUSTED`.
+     */
+    public Limit limit(){
+        return limit;
+    }
+
+    /**
+     * @return el camino si el estado es `FOUND`, o `null` en otro caso.
+     */
+    public List<V> path(){
+        return path;
+    }
+
+    /**
+     * @return vértices visitados (descubiertos) por la búsqueda, el origen incluido.
+     */
+    public int visited(){
+        return visited;
+    }
+
+    /**
+     * @return arcos recorridos por la búsqueda.
+     */
+    public long edgesScanned(){
+        return edgesScanned;
+    }
+
+    /**
+     * @return número de arcos del camino si el estado es `FOUND`; si no, niveles de
+     * la búsqueda en anchura explorados por completo (no hay ningún camino de
+     * hasta ese número de arcos).
+     */
+    public int depth(){
+        return depth;
+    }
+
+    /**
+     * @return duración de la consulta en nanosegundos.
+     */
+    public long elapsedNanos(){
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString(){
+        return String.format(Locale.ROOT, "%s%s: path=%s, visited=%d, edges=%d, depth=%d, %.3f ms",
+                status, limit == null ? "" : " (" + limit + ")", path, visited, edgesScanned, depth, elapsedNanos / 1e6);
+    }
+}
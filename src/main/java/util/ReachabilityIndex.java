@@ -0,0 +1,351 @@
+package util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Índice de alcanzabilidad exacto. Calcula las componentes fuertemente conexas
+ * con una versión iterativa del algoritmo de Tarjan (sin recursión, así que no
+ * desborda la pila en cadenas largas), las contrae en un DAG y asigna a cada
+ * componente varias etiquetas de intervalo al estilo GRAIL, obtenidas con
+ * recorridos en profundidad aleatorios del DAG.
+ *
+ * Si `u` alcanza a `v`, el intervalo de `v` está contenido en el de `u` en todas
+ * las etiquetas, así que basta una etiqueta que no lo cumpla para responder
+ * `false` en tiempo constante. Sólo cuando todas lo cumplen se recorre el DAG,
+ * podando con las mismas etiquetas.
+ *
+ * El índice es inmutable; los cambios posteriores en el grafo no le afectan.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class ReachabilityIndex<V>{
+
+    //Número de etiquetas de intervalo por componente.
+    private static final int LABELINGS = 3;
+
+    //Vértice -> componente. Las componentes se numeran en orden topológico inverso:
+    //cada arco del DAG va de una componente a otra de número menor.
+    private final Map<V, Integer> componentOf;
+    private final int componentCount;
+    //Arcos del DAG de componentes en formato CSR, sin repetidos.
+    private final int[] dagOffsets;
+    private final int[] dagTargets;
+    //Intervalo [low, post] de la componente c en la etiqueta i: posición i * componentCount + c.
+    private final int[] low;
+    private final int[] post;
+
+    private ReachabilityIndex(Map<V, Integer> componentOf, int componentCount, int[] dagOffsets, int[] dagTargets){
+        this.componentOf = componentOf;
+        this.componentCount = componentCount;
+        this.dagOffsets = dagOffsets;
+        this.dagTargets = dagTargets;
+        this.low = new int[LABELINGS * componentCount];
+        this.post = new int[LABELINGS * componentCount];
+        Random random = new Random(componentCount);
+        for (int i = 0; i < LABELINGS; i++) {
+            label(i, random);
+        }
+    }
+
+    /**
+     * Construye el índice sobre el estado actual del grafo.
+     *
+     * @param graph grafo de origen.
+     * @return el índice de alcanzabilidad.
+     */
+    public static <V> ReachabilityIndex<V> build(Graph<V> graph){
+        return build(graph.freeze());
+    }
+
+    /**
+     * Construye el índice sobre una instantánea.
+     *
+     * @param graph instantánea de origen.
+     * @return el índice de alcanzabilidad.
+     */
+    public static <V> ReachabilityIndex<V> build(FrozenGraph<V> graph){
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] component = new int[n];
+        int componentCount = tarjan(offsets, targets, component);
+
+        // Vértices agrupados por componente (ordenación por recuento).
+        int[] start = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) {
+            start[component[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] members = new int[n];
+        int[] fill = new int[componentCount];
+        for (int v = 0; v < n; v++) {
+            members[start[component[v]] + fill[component[v]]++] = v;
+        }
+
+        // Arcos entre componentes distintas, sin repetidos.
+        int[] dagOffsets = new int[componentCount + 1];
+        int[] dagTargets = new int[16];
+        int[] seenBy = new int[componentCount];
+        Arrays.fill(seenBy, -1);
+        int edges = 0;
+        for (int c = 0; c < componentCount; c++) {
+            dagOffsets[c] = edges;
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                int v = members[i];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int d = component[targets[e]];
+                    if (d != c && seenBy[d] != c) {
+                        seenBy[d] = c;
+                        if (edges == dagTargets.length) {
+                            dagTargets = Arrays.copyOf(dagTargets, edges << 1);
+                        }
+                        dagTargets[edges++] = d;
+                    }
+                }
+            }
+        }
+        dagOffsets[componentCount] = edges;
+
+        Map<V, Integer> componentOf = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (int v = 0; v < n; v++) {
+            componentOf.put(graph.vertexOf(v), component[v]);
+        }
+        return new ReachabilityIndex<>(componentOf, componentCount, dagOffsets,
+                Arrays.copyOf(dagTargets, edges));
+    }
+
+    /**
+     * Comprueba si existe un camino de `v1` a `v2`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return `true` si `v2` es alcanzable desde `v1` (en particular, si son el
+     * mismo vértice); `false` si no lo es o alguno no estaba en el grafo.
+     */
+    public boolean isReachable(V v1, V v2){
+        Integer source = componentOf.get(v1);
+        Integer target = componentOf.get(v2);
+        if (source == null || target == null) {
+            return false;
+        }
+        if (source.intValue() == target.intValue()) {
+            return true;
+        }
+        return searchDag(source, target, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Versión acotada de {@link #isReachable(Object, Object)}: sólo responde
+     * `true` si demuestra el camino expandiendo como mucho `maxComponents`
+     * componentes del DAG, de modo que su coste no depende del tamaño del grafo.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @param maxComponents componentes del DAG que se pueden expandir.
+     * @return `true` si `v2` es alcanzable desde `v1`; `false` si no lo es,
+     * algún vértice no estaba en el grafo o no se ha podido decidir.
+     */
+    boolean isReachableWithin(V v1, V v2, int maxComponents){
+        Integer source = componentOf.get(v1);
+        Integer target = componentOf.get(v2);
+        if (source == null || target == null) {
+            return false;
+        }
+        return source.intValue() == target.intValue() || searchDag(source, target, maxComponents);
+    }
+
+    //Búsqueda en profundidad de `target` desde `source` por el DAG, podada con las
+    //etiquetas. Se rinde (devuelve false) tras expandir `budget` componentes.
+    private boolean searchDag(int source, int target, int budget){
+        if (!mayReach(source, target)) {
+            return false;
+        }
+        // Todas las etiquetas lo permiten: búsqueda en profundidad podada por el DAG.
+        BitSet visited = new BitSet(componentCount);
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = source;
+        visited.set(source);
+        while (size > 0 && budget-- > 0) {
+            int c = stack[--size];
+            for (int e = dagOffsets[c]; e < dagOffsets[c + 1]; e++) {
+                int d = dagTargets[e];
+                if (d == target) {
+                    return true;
+                }
+                if (!visited.get(d) && mayReach(d, target)) {
+                    visited.set(d);
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size << 1);
+                    }
+                    stack[size++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si dos vértices pertenecen a la misma componente fuertemente conexa.
+     *
+     * @param v1 primer vértice.
+     * @param v2 segundo vértice.
+     * @return `true` si cada uno es alcanzable desde el otro.
+     */
+    public boolean sameComponent(V v1, V v2){
+        Integer c1 = componentOf.get(v1);
+        return c1 != null && c1.equals(componentOf.get(v2));
+    }
+
+    /**
+     * @return número de componentes fuertemente conexas.
+     */
+    public int componentCount(){
+        return componentCount;
+    }
+
+    /**
+     * @return número de arcos del DAG de componentes.
+     */
+    public int dagEdgeCount(){
+        return dagTargets.length;
+    }
+
+    //Filtro exacto en negativo: false garantiza que `source` no alcanza a `target`.
+    private boolean mayReach(int source, int target){
+        if (source < target) {
+            return false; // Los arcos del DAG sólo bajan de número
+        }
+        for (int i = 0, base = 0; i < LABELINGS; i++, base += componentCount) {
+            if (low[base + target] < low[base + source] || post[base + target] > post[base + source]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Etiqueta i: recorrido en profundidad iterativo del DAG con raíces y orden de
+    //hijos aleatorios. post[c] es el número de c en postorden y low[c] el mínimo
+    //postorden entre sus descendientes.
+    private void label(int i, Random random){
+        int base = i * componentCount;
+        int[] roots = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            roots[c] = c;
+        }
+        for (int c = componentCount - 1; c > 0; c--) {
+            int j = random.nextInt(c + 1);
+            int tmp = roots[c];
+            roots[c] = roots[j];
+            roots[j] = tmp;
+        }
+        boolean[] visited = new boolean[componentCount];
+        int[] stack = new int[componentCount];
+        //Posición de inicio (aleatoria) y número de hijos ya recorridos de cada componente.
+        int[] first = new int[componentCount];
+        int[] done = new int[componentCount];
+        int counter = 0;
+        for (int root : roots) {
+            if (visited[root]) {
+                continue;
+            }
+            int size = 0;
+            stack[size++] = root;
+            visited[root] = true;
+            open(root, random, first, done, base);
+            while (size > 0) {
+                int c = stack[size - 1];
+                int degree = dagOffsets[c + 1] - dagOffsets[c];
+                if (done[c] < degree) {
+                    int d = dagTargets[dagOffsets[c] + (first[c] + done[c]++) % degree];
+                    if (!visited[d]) {
+                        visited[d] = true;
+                        open(d, random, first, done, base);
+                        stack[size++] = d;
+                    } else {
+                        low[base + c] = Math.min(low[base + c], low[base + d]);
+                    }
+                } else {
+                    size--;
+                    post[base + c] = counter++;
+                    low[base + c] = Math.min(low[base + c], post[base + c]);
+                    if (size > 0) {
+                        int parent = stack[size - 1];
+                        low[base + parent] = Math.min(low[base + parent], low[base + c]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void open(int c, Random random, int[] first, int[] done, int base){
+        int degree = dagOffsets[c + 1] - dagOffsets[c];
+        first[c] = degree == 0 ? 0 : random.nextInt(degree);
+        done[c] = 0;
+        low[base + c] = Integer.MAX_VALUE;
+    }
+
+    //Tarjan iterativo sobre el CSR. Devuelve el número de componentes y rellena
+    //`component` con la de cada vértice, en orden topológico inverso.
+    private static int tarjan(int[] offsets, int[] targets, int[] component){
+        int n = component.length;
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        int[] cursor = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int stackSize = 0;
+        int components = 0;
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int calls = 0;
+            callStack[calls++] = root;
+            index[root] = lowLink[root] = counter++;
+            cursor[root] = offsets[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (calls > 0) {
+                int v = callStack[calls - 1];
+                if (cursor[v] < offsets[v + 1]) {
+                    int w = targets[cursor[v]++];
+                    if (index[w] < 0) {
+                        index[w] = lowLink[w] = counter++;
+                        cursor[w] = offsets[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[calls++] = w;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                } else {
+                    calls--;
+                    if (lowLink[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            component[w] = components;
+                        } while (w != v);
+                        components++;
+                    }
+                    if (calls > 0) {
+                        int parent = callStack[calls - 1];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                    }
+                }
+            }
+        }
+        return components;
+    }
+}
@@ -0,0 +1,65 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Arrays de trabajo reutilizables para búsquedas en anchura sobre
+ * identificadores densos. Un vértice `v` está visitado en la búsqueda en curso
+ * si `marks[v] == epoch`, así que empezar una búsqueda nueva no recorre los
+ * arrays: basta con abrir una época en {@link #prepare(int)}. El coste de cada
+ * búsqueda es proporcional a lo que visita, no al número de vértices.
+ *
+ * No es seguro para uso concurrente: cada hilo necesita los suyos.
+ */
+final class SearchBuffers{
+
+    //Época de la última visita de cada vértice.
+    int[] marks = new int[0];
+    //Vértice anterior (o siguiente, según el sentido de la búsqueda), válido sólo si está marcado.
+    int[] links = new int[0];
+    //Cola de la búsqueda; cada vértice entra como mucho una vez.
+    int[] queue = new int[0];
+    //Época de la búsqueda en curso.
+    int epoch;
+
+    /**
+     * Prepara una búsqueda nueva sobre `n` vértices: amplía los arrays si hace
+     * falta y abre una época, de modo que ningún vértice queda visitado.
+     *
+     * @param n número de vértices del grafo.
+     */
+    void prepare(int n){
+        ensureCapacity(n);
+        if (++epoch == 0) {
+            Arrays.fill(marks, 0); // Tras 2^32 búsquedas, las marcas antiguas volverían a contar
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Amplía los arrays para `n` vértices conservando su contenido, de modo que
+     * puede llamarse en mitad de una búsqueda si aparecen vértices nuevos.
+     *
+     * @param n número de vértices.
+     */
+    void ensureCapacity(int n){
+        if (marks.length < n) {
+            int capacity = Math.max(n, marks.length << 1);
+            marks = Arrays.copyOf(marks, capacity);
+            links = Arrays.copyOf(links, capacity);
+            queue = Arrays.copyOf(queue, capacity);
+        }
+    }
+
+    /**
+     * Marca `v` como visitado en la búsqueda en curso, alcanzado desde `link`.
+     */
+    void visit(int v, int link){
+        marks[v] = epoch;
+        links[v] = link;
+    }
+
+    boolean isVisited(int v){
+        return marks[v] == epoch;
+    }
+}
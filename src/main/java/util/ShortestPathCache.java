@@ -0,0 +1,129 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caché LRU de árboles de búsqueda en anchura sobre un {@link Graph}, pensada
+ * para cargas en las que unos pocos orígenes reciben consultas hacia muchos
+ * destinos. Para cada origen consultado se guarda el mapa de predecesores de una
+ * búsqueda completa, de modo que las siguientes consultas desde ese origen sólo
+ * reconstruyen el camino.
+ *
+ * La caché se vacía automáticamente cuando el grafo cambia (al añadir un vértice
+ * o un arco nuevo), por lo que nunca devuelve caminos obsoletos. No es segura
+ * para uso concurrente, igual que {@link Graph}.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public class ShortestPathCache<V>{
+
+    private final Graph<V> graph;
+    private final Map<V, Map<V, V>> trees;
+    //Valor de modCount del grafo con el que se calcularon los árboles guardados.
+    private long version;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param graph grafo sobre el que se realizan las consultas.
+     * @param capacity número máximo de orígenes cuyos árboles se guardan.
+     */
+    public ShortestPathCache(Graph<V> graph, final int capacity){
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.graph = graph;
+        this.version = graph.modCount();
+        this.trees = new LinkedHashMap<V, Map<V, V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<V, Map<V, V>> eldest){
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el camino más corto entre `v1` y `v2` usando el árbol guardado
+     * para `v1` o calculándolo y guardándolo si no estaba.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return un camino más corto entre `v1` y `v2`, de la misma longitud que el
+     * de {@link Graph#shortestPath(Object, Object)} aunque puede no ser el mismo
+     * si hay varios, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestPath(V v1, V v2){
+        if (!graph.containsVertex(v1) || !graph.containsVertex(v2)) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+        return Graph.buildPath(tree(v1), v1, v2);
+    }
+
+    /**
+     * Resuelve varios pares (origen, destino) con una búsqueda como máximo por
+     * cada origen distinto que no esté ya en la caché.
+     *
+     * @param pairs pares (origen, destino) a resolver.
+     * @return lista con el camino de cada par (o `null`) en el mismo orden que `pairs`.
+     */
+    public List<List<V>> shortestPaths(List<? extends Map.Entry<V, V>> pairs){
+        List<List<V>> results = new ArrayList<>(pairs.size());
+        for (Map.Entry<V, V> pair : pairs) {
+            results.add(shortestPath(pair.getKey(), pair.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * @return número de consultas resueltas con un árbol ya guardado.
+     */
+    public long hits(){
+        return hits;
+    }
+
+    /**
+     * @return número de consultas que han necesitado una búsqueda nueva.
+     */
+    public long misses(){
+        return misses;
+    }
+
+    /**
+     * @return número de árboles guardados actualmente.
+     */
+    public int size(){
+        invalidateIfModified();
+        return trees.size();
+    }
+
+    /**
+     * Descarta todos los árboles guardados.
+     */
+    public void clear(){
+        trees.clear();
+    }
+
+    private Map<V, V> tree(V source){
+        invalidateIfModified();
+        Map<V, V> tree = trees.get(source);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+        misses++;
+        tree = graph.predecessorTree(source, null);
+        trees.put(source, tree);
+        return tree;
+    }
+
+    private void invalidateIfModified(){
+        long current = graph.modCount();
+        if (current != version) {
+            trees.clear();
+            version = current;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Asignador de bloques fuera del heap. La memoria se reserva en losas (`slabs`)
+ * de `ByteBuffer` directos de tamaño fijo y se reparte en bloques de tamaño
+ * potencia de dos, como mínimo 16 bytes. Los bloques liberados se encadenan en
+ * una lista libre por tamaño (el enlace se guarda en los primeros 8 bytes del
+ * propio bloque) y se reutilizan antes de avanzar en la losa actual.
+ *
+ * Los bloques del tamaño de una losa o mayores reciben una losa propia, que se
+ * suelta al liberarlos para que el recolector devuelva su memoria.
+ *
+ * Una dirección es `(losa << 32) | desplazamiento`, así que sumarle un
+ * desplazamiento dentro del bloque da la dirección de esa posición. No es
+ * seguro para uso concurrente.
+ */
+final class SlabAllocator{
+
+    private static final int MIN_BLOCK = 16;
+    private static final long NONE = -1L;
+
+    private final int slabBytes;
+    private ByteBuffer[] slabs = new ByteBuffer[16];
+    private int slabCount;
+    //Losa en la que se asignan los bloques nuevos y primer byte libre en ella.
+    private int current = -1;
+    private int top;
+    //Primer bloque libre de cada tamaño 2^i, o NONE.
+    private final long[] freeLists = new long[Integer.SIZE];
+    private long reservedBytes;
+    private long usedBytes;
+
+    /**
+     * @param slabBytes tamaño de cada losa; se redondea a una potencia de dos.
+     */
+    SlabAllocator(int slabBytes){
+        this.slabBytes = IntIntHashMap.tableSizeFor(Math.max(slabBytes, 4096));
+        Arrays.fill(freeLists, NONE);
+    }
+
+    /**
+     * @param bytes tamaño pedido.
+     * @return la dirección de un bloque de al menos `bytes` bytes (sin inicializar).
+     */
+    long allocate(int bytes){
+        int size = blockSize(bytes);
+        if (size >= slabBytes) {
+            usedBytes += size;
+            return address(newSlab(size), 0);
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(size);
+        long head = freeLists[sizeClass];
+        if (head != NONE) {
+            freeLists[sizeClass] = getLong(head);
+            usedBytes += size;
+            return head;
+        }
+        if (current < 0 || top + size > slabBytes) {
+            current = newSlab(slabBytes);
+            top = 0;
+        }
+        long address = address(current, top);
+        top += size;
+        usedBytes += size;
+        return address;
+    }
+
+    /**
+     * Libera un bloque obtenido con {@link #allocate(int)}.
+     *
+     * @param address dirección del bloque.
+     * @param bytes tamaño con el que se pidió.
+     */
+    void free(long address, int bytes){
+        int size = blockSize(bytes);
+        usedBytes -= size;
+        if (size >= slabBytes) {
+            slabs[slabIndex(address)] = null;
+            reservedBytes -= size;
+            return;
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(size);
+        putLong(address, freeLists[sizeClass]);
+        freeLists[sizeClass] = address;
+    }
+
+    //Losa que contiene la dirección y posición dentro de ella, para leer bloques
+    //en bucles sin resolver la losa en cada acceso.
+    ByteBuffer slab(long address){
+        return slabs[slabIndex(address)];
+    }
+
+    static int offset(long address){
+        return (int) address;
+    }
+
+    int getInt(long address){
+        return slab(address).getInt(offset(address));
+    }
+
+    void putInt(long address, int value){
+        slab(address).putInt(offset(address), value);
+    }
+
+    long getLong(long address){
+        return slab(address).getLong(offset(address));
+    }
+
+    void putLong(long address, long value){
+        slab(address).putLong(offset(address), value);
+    }
+
+    void copy(long from, long to, int bytes){
+        slab(to).put(offset(to), slab(from), offset(from), bytes);
+    }
+
+    /**
+     * @return bytes reservados en losas directas.
+     */
+    long reservedBytes(){
+        return reservedBytes;
+    }
+
+    /**
+     * @return bytes en bloques asignados y no liberados (incluido el redondeo).
+     */
+    long usedBytes(){
+        return usedBytes;
+    }
+
+    /**
+     * @return número de losas vivas.
+     */
+    int slabCount(){
+        int count = 0;
+        for (int i = 0; i < slabCount; i++) {
+            if (slabs[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int newSlab(int bytes){
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, slabCount << 1);
+        }
+        slabs[slabCount] = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        reservedBytes += bytes;
+        return slabCount++;
+    }
+
+    private static int blockSize(int bytes){
+        if (bytes > 1 << 30) {
+            throw new IllegalArgumentException("Block too large: " + bytes + " bytes");
+        }
+        return IntIntHashMap.tableSizeFor(Math.max(bytes, MIN_BLOCK));
+    }
+
+    private static long address(int slab, int offset){
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int slabIndex(long address){
+        return (int) (address >>> 32);
+    }
+}
@@ -0,0 +1,250 @@
+package util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Contexto de recorrido reutilizable sobre un {@link Graph}, pensado para hilos
+ * que ejecutan miles de recorridos seguidos sin generar basura. El contexto
+ * asigna a cada vértice que encuentra un identificador denso (en una tabla de
+ * direccionamiento abierto que se conserva entre recorridos) y guarda los
+ * visitados y sus predecesores en arrays `int[]` marcados por época: empezar un
+ * recorrido no vacía nada, y visitar un vértice ya identificado no crea ningún
+ * objeto (salvo el iterador de su conjunto de adyacentes, que el compilador JIT
+ * suele eliminar por análisis de escape). Sólo se reserva memoria al ver vértices nuevos o al crecer la cola o
+ * la pila. Los identificadores de vértices eliminados del grafo se descartan
+ * cuando la tabla dobla el tamaño del grafo.
+ *
+ * El propio contexto actúa como iterador del recorrido en curso: iniciar un
+ * recorrido nuevo con {@link #bfs(Object)} o {@link #dfs(Object)} invalida el
+ * anterior. No es seguro para uso concurrente; cada hilo debe crear el suyo con
+ * {@link Graph#newTraversal()} o {@link OffHeapGraph#newTraversal()}.
+ *
+ * Cada recorrido empieza aplicando las eliminaciones diferidas del grafo (ver
+ * {@link Graph#setTombstoneMode(boolean)}), así que un contexto reutilizado no
+ * ve vértices ni arcos marcados. Las que se marquen con un recorrido en curso no
+ * le afectan hasta el siguiente.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public final class Traversal<V> implements Iterator<V>{
+
+    //Marca el padre del vértice inicial en la pila del DFS (ArrayDeque no admite null).
+    private static final Object NO_PARENT = new Object();
+
+    private final Map<V, Set<V>> adjacencyList;
+    //Se ejecuta al empezar cada recorrido; Graph aplica en él sus eliminaciones diferidas.
+    private final Runnable beforeTraversal;
+    //Cola (BFS) o pila (DFS) de vértices pendientes.
+    private final ArrayDeque<V> pending = new ArrayDeque<>();
+    //Padres de los vértices de la pila del DFS, en paralelo a `pending`.
+    private final ArrayDeque<Object> pendingParents = new ArrayDeque<>();
+    //Vértice -> identificador denso, asignado la primera vez que el contexto lo ve.
+    private ObjectIntHashMap<V> ids = new ObjectIntHashMap<>(16);
+    //Identificador -> vértice.
+    private Object[] vertices = new Object[16];
+    //Visitados (BFS: descubiertos) del recorrido en curso y predecesor de cada uno
+    //(-1 para el inicial), por identificador.
+    private final SearchBuffers search = new SearchBuffers();
+    private int visitedCount;
+    private boolean depthFirst;
+    //Siguiente vértice del DFS ya extraído de la pila, o null si hay que buscarlo.
+    private V lookahead;
+
+    Traversal(Map<V, Set<V>> adjacencyList, Runnable beforeTraversal){
+        this.adjacencyList = adjacencyList;
+        this.beforeTraversal = beforeTraversal;
+    }
+
+    /**
+     * Inicia un recorrido en anchura desde `start`.
+     *
+     * @param start vértice inicial.
+     * @return este contexto, que itera los vértices en orden BFS.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public Iterator<V> bfs(V start){
+        reset(start, false);
+        visit(start, -1);
+        pending.add(start);
+        return this;
+    }
+
+    /**
+     * Inicia un recorrido en profundidad (preorden) desde `start`.
+     *
+     * @param start vértice inicial.
+     * @return este contexto, que itera los vértices en orden DFS.
+     * @throws IllegalArgumentException si el vértice no existe en el grafo.
+     */
+    public Iterator<V> dfs(V start){
+        reset(start, true);
+        pending.push(start);
+        pendingParents.push(NO_PARENT);
+        return this;
+    }
+
+    @Override
+    public boolean hasNext(){
+        if (!depthFirst) {
+            return !pending.isEmpty();
+        }
+        if (lookahead == null) {
+            lookahead = popUnvisited();
+        }
+        return lookahead != null;
+    }
+
+    @Override
+    public V next(){
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (depthFirst) {
+            V current = lookahead;
+            lookahead = null;
+            for (V neighbor : adjacencyList.get(current)) {
+                if (!search.isVisited(idOf(neighbor))) {
+                    pending.push(neighbor);
+                    pendingParents.push(current);
+                }
+            }
+            return current;
+        }
+        V current = pending.poll();
+        int currentId = idOf(current);
+        for (V neighbor : adjacencyList.get(current)) {
+            if (visit(neighbor, currentId)) {
+                pending.offer(neighbor);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param v vértice.
+     * @return `true` si el recorrido en curso ya ha alcanzado `v`.
+     */
+    public boolean isVisited(V v){
+        int id = ids.get(v);
+        return id != ObjectIntHashMap.MISSING && search.isVisited(id);
+    }
+
+    /**
+     * @param v vértice ya alcanzado por el recorrido en curso.
+     * @return el vértice desde el que se alcanzó `v`, o `null` si es el inicial o
+     * aún no se ha alcanzado.
+     */
+    @SuppressWarnings("unchecked")
+    public V predecessor(V v){
+        if (!isVisited(v)) {
+            return null;
+        }
+        int link = search.links[ids.get(v)];
+        return link < 0 ? null : (V) vertices[link];
+    }
+
+    /**
+     * @return número de vértices alcanzados por el recorrido en curso.
+     */
+    public int visitedCount(){
+        return visitedCount;
+    }
+
+    /**
+     * Obtiene el camino más corto entre `v1` y `v2` reutilizando el estado del
+     * contexto. Interrumpe el recorrido en curso.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return un camino más corto entre `v1` y `v2` (de la misma longitud que el de
+     * {@link Graph#shortestPath(Object, Object)}, aunque puede ser otro si hay
+     * varios), o `null` si no hay camino o los vértices no existen.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> shortestPath(V v1, V v2){
+        beforeTraversal.run();
+        if (!adjacencyList.containsKey(v1) || !adjacencyList.containsKey(v2)) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+        bfs(v1);
+        int target = idOf(v2);
+        while (!search.isVisited(target) && hasNext()) {
+            next();
+        }
+        if (!search.isVisited(target)) {
+            return null; // No se encontró camino
+        }
+        List<V> path = new ArrayList<>();
+        for (int step = target; step >= 0; step = search.links[step]) {
+            path.add((V) vertices[step]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private void reset(V start, boolean depthFirst){
+        beforeTraversal.run();
+        if (!adjacencyList.containsKey(start)) {
+            throw new IllegalArgumentException("Vertex " + start + " not found in the graph.");
+        }
+        pending.clear();
+        pendingParents.clear();
+        if (ids.size() > 2 * adjacencyList.size() + 64) {
+            // Sobran identificadores de vértices ya eliminados del grafo
+            ids = new ObjectIntHashMap<>(adjacencyList.size());
+            Arrays.fill(vertices, null);
+        }
+        search.prepare(ids.size());
+        visitedCount = 0;
+        lookahead = null;
+        this.depthFirst = depthFirst;
+    }
+
+    //Extrae de la pila el siguiente vértice no visitado y lo marca, o devuelve null.
+    @SuppressWarnings("unchecked")
+    private V popUnvisited(){
+        while (!pending.isEmpty()) {
+            V candidate = pending.pop();
+            Object parent = pendingParents.pop();
+            if (visit(candidate, parent == NO_PARENT ? -1 : idOf((V) parent))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    //Marca `v` como visitado desde el vértice `predecessor` (-1 si es el inicial).
+    //Devuelve `false` si ya lo estaba.
+    private boolean visit(V v, int predecessor){
+        int id = idOf(v);
+        if (search.isVisited(id)) {
+            return false;
+        }
+        search.visit(id, predecessor);
+        visitedCount++;
+        return true;
+    }
+
+    //Identificador de `v`, asignándole uno nuevo si el contexto no lo había visto.
+    private int idOf(V v){
+        int id = ids.get(v);
+        if (id == ObjectIntHashMap.MISSING) {
+            id = ids.size();
+            ids.putIfAbsent(v, id);
+            if (id == vertices.length) {
+                vertices = Arrays.copyOf(vertices, id << 1);
+            }
+            vertices[id] = v;
+            search.ensureCapacity(id + 1);
+        }
+        return id;
+    }
+}
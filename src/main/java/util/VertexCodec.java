@@ -0,0 +1,58 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversión entre vértices y su representación binaria, usada por los formatos
+ * persistentes del paquete. Dos vértices distintos deben tener codificaciones
+ * distintas.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public interface VertexCodec<V>{
+
+    /**
+     * Codificación de `Integer` en 4 bytes big-endian con el bit de signo
+     * invertido, de modo que el orden de los bytes coincide con el numérico.
+     */
+    VertexCodec<Integer> INTEGER = new VertexCodec<Integer>() {
+        @Override
+        public byte[] encode(Integer v){
+            int bits = v ^ Integer.MIN_VALUE;
+            return new byte[]{(byte) (bits >>> 24), (byte) (bits >>> 16), (byte) (bits >>> 8), (byte) bits};
+        }
+
+        @Override
+        public Integer decode(byte[] bytes){
+            int bits = (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+            return bits ^ Integer.MIN_VALUE;
+        }
+    };
+
+    /**
+     * Codificación de `String` en UTF-8.
+     */
+    VertexCodec<String> STRING = new VertexCodec<String>() {
+        @Override
+        public byte[] encode(String v){
+            return v.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes){
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * @param v vértice a codificar.
+     * @return su representación binaria.
+     */
+    byte[] encode(V v);
+
+    /**
+     * @param bytes representación binaria producida por {@link #encode(Object)}.
+     * @return el vértice correspondiente.
+     */
+    V decode(byte[] bytes);
+}
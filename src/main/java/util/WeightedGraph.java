@@ -0,0 +1,306 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Grafo dirigido con pesos no negativos en los arcos. Los vértices se traducen
+ * a identificadores densos y, para cada vértice, los destinos y los pesos de sus
+ * arcos se guardan en dos arrays primitivos paralelos (`int[]` y `double[]`),
+ * sin objetos por arco.
+ *
+ * Además del camino con menos arcos (`shortestPath`), calcula el camino de menor
+ * peso con Dijkstra o con A* sobre un montículo d-ario indexado con
+ * decrease-key, deteniéndose en cuanto se extrae el destino.
+ *
+ * @param <V> tipo de los vértices.
+ */
+public class WeightedGraph<V>{
+
+    //Vértice -> identificador denso.
+    private final Map<V, Integer> ids = new HashMap<>();
+    //Identificador -> vértice.
+    private final List<V> vertices = new ArrayList<>();
+    //Arcos como pares (origen, destino) de identificadores, para detectar duplicados.
+    private final LongHashSet edges = new LongHashSet(16);
+    //Destinos, pesos y número de arcos salientes de cada vértice.
+    private int[][] targets = new int[16][];
+    private double[][] weights = new double[16][];
+    private int[] degree = new int[16];
+
+    /**
+     * Añade el vértice `v` al grafo.
+     *
+     * @param v vértice a añadir.
+     * @return `true` si no estaba anteriormente y `false` en caso contrario.
+     */
+    public boolean addVertex(V v){
+        int before = vertices.size();
+        idOrAdd(v);
+        return vertices.size() > before;
+    }
+
+    /**
+     * Añade un arco de peso 1 entre los vértices `v1` y `v2`.
+     *
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @return `true` si no existía el arco y `false` en caso contrario.
+     * @see #addEdge(Object, Object, double)
+     */
+    public boolean addEdge(V v1, V v2){
+        return addEdge(v1, v2, 1.0);
+    }
+
+    /**
+     * Añade un arco con peso `weight` entre los vértices `v1` y `v2`. En caso
+     * de que no exista alguno de los vértices, lo añade también. Si el arco ya
+     * existía, sustituye su peso.
+     *
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @param weight peso del arco, finito y no negativo.
+     * @return `true` si no existía el arco y `false` en caso contrario.
+     * @throws IllegalArgumentException si el peso es negativo, infinito o NaN.
+     */
+    public boolean addEdge(V v1, V v2, double weight){
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Invalid edge weight: " + weight);
+        }
+        int source = idOrAdd(v1);
+        int target = idOrAdd(v2);
+        int d = degree[source];
+        if (!edges.add(((long) source << 32) | target)) {
+            // El arco ya existía: se actualiza su peso
+            for (int i = 0; i < d; i++) {
+                if (targets[source][i] == target) {
+                    weights[source][i] = weight;
+                }
+            }
+            return false;
+        }
+        if (targets[source] == null) {
+            targets[source] = new int[4];
+            weights[source] = new double[4];
+        } else if (d == targets[source].length) {
+            targets[source] = Arrays.copyOf(targets[source], d << 1);
+            weights[source] = Arrays.copyOf(weights[source], d << 1);
+        }
+        targets[source][d] = target;
+        weights[source][d] = weight;
+        degree[source] = d + 1;
+        return true;
+    }
+
+    /**
+     * Comprueba si el grafo contiene el vértice dado.
+     *
+     * @param v vértice para el que se realiza la comprobación.
+     * @return `true` si `v` es un vértice del grafo.
+     */
+    public boolean containsVertex(V v){
+        return ids.containsKey(v);
+    }
+
+    /**
+     * Obtiene el conjunto de vértices adyacentes a `v`.
+     *
+     * @param v vértice del que se obtienen los adyacentes.
+     * @return conjunto de vértices adyacentes.
+     * @throws Exception si el vértice no existe en el grafo.
+     */
+    public Set<V> obtainAdjacents(V v) throws Exception{
+        Integer id = ids.get(v);
+        if (id == null) {
+            throw new Exception("Vertex " + v + " not found in the graph.");
+        }
+        Set<V> adjacents = new HashSet<>();
+        for (int i = 0; i < degree[id]; i++) {
+            adjacents.add(vertices.get(targets[id][i]));
+        }
+        return adjacents;
+    }
+
+    /**
+     * @param v1 el origen del arco.
+     * @param v2 el destino del arco.
+     * @return el peso del arco `v1 -> v2`, o `NaN` si el arco no existe.
+     */
+    public double weight(V v1, V v2){
+        Integer source = ids.get(v1);
+        Integer target = ids.get(v2);
+        if (source == null || target == null) {
+            return Double.NaN;
+        }
+        for (int i = 0; i < degree[source]; i++) {
+            if (targets[source][i] == target) {
+                return weights[source][i];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Suma los pesos de los arcos de un camino.
+     *
+     * @param path secuencia de vértices.
+     * @return el peso total del camino, o `NaN` si falta alguno de sus arcos.
+     */
+    public double pathWeight(List<V> path){
+        double total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            total += weight(path.get(i), path.get(i + 1));
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino con menos arcos entre
+     * `v1` y `v2`, ignorando los pesos. En caso contrario, devuelve `null`.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino más corto
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestPath(V v1, V v2){
+        Integer source = ids.get(v1);
+        Integer target = ids.get(v2);
+        if (source == null || target == null) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+        int n = vertices.size();
+        int[] predecessor = new int[n];
+        Arrays.fill(predecessor, -1);
+        predecessor[source] = source;
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail && predecessor[target] < 0) {
+            int current = queue[head++];
+            for (int i = 0; i < degree[current]; i++) {
+                int neighbor = targets[current][i];
+                if (predecessor[neighbor] < 0) {
+                    predecessor[neighbor] = current;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return predecessor[target] < 0 ? null : buildPath(predecessor, source, target);
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino de menor peso entre `v1` y
+     * `v2` mediante el algoritmo de Dijkstra.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @return lista con la secuencia de vértices del camino de menor peso
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestWeightedPath(V v1, V v2){
+        return search(v1, v2, null);
+    }
+
+    /**
+     * Obtiene, en caso de que exista, el camino de menor peso entre `v1` y
+     * `v2` mediante A*. La heurística estima el peso restante desde cada vértice
+     * hasta `v2`; debe ser admisible (no sobrestimarlo nunca) para que el
+     * resultado sea óptimo. Con una heurística constante 0 equivale a Dijkstra.
+     *
+     * @param v1 el vértice origen.
+     * @param v2 el vértice destino.
+     * @param heuristic estimación admisible del peso restante hasta `v2`.
+     * @return lista con la secuencia de vértices del camino de menor peso
+     * entre `v1` y `v2`, o `null` si no hay camino o los vértices no existen.
+     */
+    public List<V> shortestWeightedPath(V v1, V v2, ToDoubleFunction<? super V> heuristic){
+        return search(v1, v2, heuristic);
+    }
+
+    //Dijkstra (heuristic == null) o A*. Un vértice ya extraído vuelve al montículo si
+    //se le encuentra un camino mejor, lo que mantiene la optimalidad de A* con
+    //heurísticas admisibles aunque no sean consistentes.
+    private List<V> search(V v1, V v2, ToDoubleFunction<? super V> heuristic){
+        Integer source = ids.get(v1);
+        Integer target = ids.get(v2);
+        if (source == null || target == null) {
+            return null; // Uno o ambos vértices no están en el grafo
+        }
+        int n = vertices.size();
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        int[] predecessor = new int[n];
+        Arrays.fill(predecessor, -1);
+        double[] estimate = heuristic == null ? null : new double[n];
+        if (estimate != null) {
+            Arrays.fill(estimate, Double.NaN);
+        }
+
+        IndexedDHeap heap = new IndexedDHeap(n);
+        distance[source] = 0;
+        predecessor[source] = source;
+        heap.insertOrDecrease(source, remaining(estimate, heuristic, source));
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target) {
+                return buildPath(predecessor, source, target);
+            }
+            for (int i = 0; i < degree[current]; i++) {
+                int neighbor = targets[current][i];
+                double candidate = distance[current] + weights[current][i];
+                if (candidate < distance[neighbor]) {
+                    distance[neighbor] = candidate;
+                    predecessor[neighbor] = current;
+                    heap.insertOrDecrease(neighbor, candidate + remaining(estimate, heuristic, neighbor));
+                }
+            }
+        }
+        return null; // No se encontró camino
+    }
+
+    private double remaining(double[] estimate, ToDoubleFunction<? super V> heuristic, int id){
+        if (estimate == null) {
+            return 0;
+        }
+        if (Double.isNaN(estimate[id])) {
+            estimate[id] = heuristic.applyAsDouble(vertices.get(id));
+        }
+        return estimate[id];
+    }
+
+    private List<V> buildPath(int[] predecessor, int source, int target){
+        List<V> path = new ArrayList<>();
+        for (int step = target; step != source; step = predecessor[step]) {
+            path.add(vertices.get(step));
+        }
+        path.add(vertices.get(source));
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int idOrAdd(V v){
+        Integer id = ids.get(v);
+        if (id != null) {
+            return id;
+        }
+        int newId = vertices.size();
+        if (newId == degree.length) {
+            targets = Arrays.copyOf(targets, newId << 1);
+            weights = Arrays.copyOf(weights, newId << 1);
+            degree = Arrays.copyOf(degree, newId << 1);
+        }
+        ids.put(v, newId);
+        vertices.add(v);
+        return newId;
+    }
+}
@@ -0,0 +1,121 @@
+package pr2;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import util.ConcurrentGraph;
+
+public class GraphServerTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private GraphServer server;
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testEndpoints() throws Exception {
+        server = new GraphServer(new ConcurrentGraph<>(), 0, 0);
+        assertEquals("true", post("/edge?from=a&to=b").body());
+        assertEquals("false", post("/edge?from=a&to=b").body());
+        post("/edge?from=b&to=c");
+        post("/edge?from=a&to=d");
+        post("/edge?from=caf%C3%A9&to=a");
+
+        assertEquals("[b, d]", get("/adjacents?v=a").body());
+        assertEquals(404, get("/adjacents?v=zz").statusCode());
+        assertEquals("[café, a, b, c]", get("/path?from=caf%C3%A9&to=c").body());
+        assertEquals(404, get("/path?from=c&to=a").statusCode());
+        assertEquals(400, get("/path?from=a").statusCode());
+        assertEquals(405, get("/edge?from=a&to=b").statusCode());
+        assertEquals("pathQueries=2 pathBatches=2", get("/stats").body());
+    }
+
+    @Test
+    public void testConcurrentPathQueries_AreBatched() throws Exception {
+        ConcurrentGraph<String> graph = new ConcurrentGraph<>();
+        for (int i = 0; i < 20; i++) {
+            graph.addEdge("v" + i, "v" + (i + 1));
+        }
+        server = new GraphServer(graph, 0, 200_000);
+        int queries = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> bodies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int q = 0; q < queries; q++) {
+            int target = q + 1;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    String body = get("/path?from=v0&to=v" + target).body();
+                    synchronized (bodies) {
+                        bodies.add(body);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(queries, bodies.size());
+        assertTrue(bodies.contains("[v0, v1, v2, v3]"));
+        assertEquals(queries, server.pathQueries());
+        assertTrue(server.pathBatches() < queries);
+    }
+
+    @Test(timeout = 10000)
+    public void testPathBatcher_QueryAfterClose_FailsInsteadOfBlocking() throws Exception {
+        ConcurrentGraph<String> graph = new ConcurrentGraph<>();
+        graph.addEdge("a", "b");
+        PathBatcher batcher = new PathBatcher(graph, Runnable::run, 1000, 16);
+        assertEquals(Arrays.asList("a", "b"), batcher.shortestPath("a", "b"));
+        batcher.close();
+        try {
+            batcher.shortestPath("a", "b");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertEquals("Server closed", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testLoadGenerator() throws Exception {
+        server = new GraphServer(new ConcurrentGraph<>(), 0, 100);
+        LoadGenerator.populate(server.uri(), 50, 2, 7);
+        LoadGenerator.Report report = LoadGenerator.run(server.uri(), 4, Duration.ofMillis(300), 50, 1);
+        assertTrue(report.requests() > 0);
+        assertEquals(0, report.errors());
+        assertEquals(report.requests(), report.latencies().count());
+        assertTrue(report.toString().contains("req/s"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(server.uri() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(server.uri() + path))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
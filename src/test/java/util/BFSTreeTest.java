@@ -0,0 +1,148 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+public class BFSTreeTest {
+
+    private static Graph<Integer> sampleGraph() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        g.addVertex(10);
+        return g;
+    }
+
+    //BFS secuencial de referencia.
+    private static Map<Integer, Integer> referenceDistances(Graph<Integer> g, int source) throws Exception {
+        Map<Integer, Integer> distances = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distances.put(source, 0);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            for (int neighbor : g.obtainAdjacents(current)) {
+                if (!distances.containsKey(neighbor)) {
+                    distances.put(neighbor, distances.get(current) + 1);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Test
+    public void testBfsDistances_SmallGraph() {
+        BFSTree<Integer> tree = sampleGraph().bfsDistances(1);
+        assertEquals(Integer.valueOf(1), tree.source());
+        assertEquals(0, tree.distance(1));
+        assertEquals(1, tree.distance(2));
+        assertEquals(2, tree.distance(3));
+        assertEquals(2, tree.distance(4));
+        assertEquals(-1, tree.distance(10));
+        assertEquals(-1, tree.distance(99));
+        assertEquals(5, tree.reachableCount());
+        assertEquals(2, tree.depth());
+    }
+
+    @Test
+    public void testPathTo_FollowsPredecessorTree() {
+        BFSTree<Integer> tree = sampleGraph().bfsDistances(1);
+        assertEquals(Arrays.asList(1, 5, 4), tree.pathTo(4));
+        assertEquals(Arrays.asList(1), tree.pathTo(1));
+        assertEquals(Integer.valueOf(5), tree.predecessor(4));
+        assertNull(tree.predecessor(1));
+        assertNull(tree.pathTo(10));
+        assertNull(tree.pathTo(99));
+        assertFalse(tree.isReachable(10));
+    }
+
+    @Test
+    public void testBfsDistances_SnapshotFollowsModifications() {
+        Graph<Integer> g = sampleGraph();
+        assertEquals(-1, g.bfsDistances(1).distance(10));
+        assertEquals(2, g.bfsDistances(1).distance(4)); // Reutiliza la instantánea
+        g.addEdge(4, 10);
+        assertEquals(3, g.bfsDistances(1).distance(10));
+        g.removeEdge(5, 4);
+        assertEquals(3, g.bfsDistances(1).distance(4));
+        g.setTombstoneMode(true);
+        g.removeEdge(1, 2);
+        assertEquals(-1, g.bfsDistances(1).distance(4)); // El borrado diferido también invalida la instantánea
+        g.addVertex(20);
+        assertEquals(0, g.bfsDistances(20).distance(20));
+    }
+
+    @Test
+    public void testBfsDistances_MissingSource_ReturnsNull() {
+        assertNull(sampleGraph().bfsDistances(99));
+        assertNull(sampleGraph().freeze().bfsDistances(99));
+    }
+
+    @Test
+    public void testBfsDistances_LargeRandomGraph_MatchesSequentialBfs() throws Exception {
+        // Grafo con vértices de grado muy alto para que se usen ambos sentidos de expansión.
+        Random random = new Random(3);
+        Graph<Integer> g = new Graph<>();
+        int n = 20000;
+        for (int i = 0; i < 120000; i++) {
+            int hub = random.nextInt(50);
+            g.addEdge(random.nextBoolean() ? hub : random.nextInt(n), random.nextInt(n));
+        }
+        FrozenGraph<Integer> frozen = g.freeze();
+        Map<Integer, Set<Integer>> adjacents = new HashMap<>();
+        for (int id = 0; id < frozen.vertexCount(); id++) {
+            adjacents.put(frozen.vertexOf(id), frozen.obtainAdjacents(frozen.vertexOf(id)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int source : Arrays.asList(0, 7, 12345)) {
+                if (!g.containsVertex(source)) {
+                    continue;
+                }
+                Map<Integer, Integer> expected = referenceDistances(g, source);
+                BFSTree<Integer> tree = frozen.bfsDistances(source, pool);
+                assertEquals(expected.size(), tree.reachableCount());
+                for (int id = 0; id < frozen.vertexCount(); id++) {
+                    int v = frozen.vertexOf(id);
+                    Integer d = expected.get(v);
+                    assertEquals(d == null ? -1 : d.intValue(), tree.distance(v));
+                    if (d != null && d > 0) {
+                        int p = tree.predecessor(v);
+                        assertEquals(d - 1, tree.distance(p));
+                        assertTrue(adjacents.get(p).contains(v));
+                    }
+                }
+                List<Integer> path = tree.pathTo(frozen.vertexOf(0));
+                List<Integer> expectedPath = g.shortestPath(source, frozen.vertexOf(0));
+                assertEquals(expectedPath == null ? null : expectedPath.size(), path == null ? null : path.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBfsDistances_LongChain() {
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 10000; i++) {
+            g.addEdge(i, i + 1);
+        }
+        BFSTree<Integer> tree = g.bfsDistances(0);
+        assertEquals(10000, tree.distance(10000));
+        assertEquals(10000, tree.depth());
+        assertEquals(-1, g.bfsDistances(5).distance(4));
+    }
+}
@@ -0,0 +1,142 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentGraphTest {
+
+    @Test
+    public void testBasicOperations_SameContractsAsGraph() throws Exception {
+        ConcurrentGraph<Integer> g = new ConcurrentGraph<>();
+        assertTrue(g.addVertex(10));
+        assertFalse(g.addVertex(10));
+        assertTrue(g.addEdge(1, 2));
+        assertFalse(g.addEdge(1, 2));
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        assertTrue(g.containsVertex(4));
+        assertFalse(g.containsVertex(99));
+        assertEquals(2, g.obtainAdjacents(1).size());
+        assertTrue(g.obtainAdjacents(4).isEmpty());
+        assertEquals(Arrays.asList(1, 5, 4), g.shortestPath(1, 4));
+        assertEquals(Arrays.asList(3), g.shortestPath(3, 3));
+        assertNull(g.shortestPath(1, 10));
+        assertNull(g.shortestPath(99, 1));
+        assertNull(g.shortestPath(1, 88));
+        assertEquals("1=[2, 5]\n2=[3]\n3=[4]\n4=[]\n5=[4]\n10=[]\n", g.toString());
+    }
+
+    @Test(expected = Exception.class)
+    public void testObtainAdjacents_NonExistingVertex_ThrowsException() throws Exception {
+        new ConcurrentGraph<String>().obtainAdjacents("Z");
+    }
+
+    @Test
+    public void testShortestPathsAndFreeze() {
+        ConcurrentGraph<Integer> g = new ConcurrentGraph<>();
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        List<Map.Entry<Integer, Integer>> pairs = new ArrayList<>();
+        pairs.add(new SimpleEntry<>(1, 3));
+        pairs.add(new SimpleEntry<>(3, 1));
+        pairs.add(new SimpleEntry<>(1, 99));
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), null, null), g.shortestPaths(pairs));
+        FrozenGraph<Integer> frozen = g.freeze();
+        assertEquals(3, frozen.vertexCount());
+        assertEquals(Arrays.asList(1, 2, 3), frozen.shortestPath(1, 3));
+    }
+
+    @Test
+    public void testStress_ConcurrentWritersAndReaders() throws Exception {
+        final ConcurrentGraph<Integer> g = new ConcurrentGraph<>();
+        final int writers = 4;
+        final int readers = 4;
+        final int edgesPerWriter = 20000;
+        final int vertices = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicLong newEdges = new AtomicLong();
+        List<Future<?>> writerFutures = new ArrayList<>();
+        List<Future<?>> readerFutures = new ArrayList<>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                final int seed = w;
+                writerFutures.add(executor.submit(() -> {
+                    start.await();
+                    Random random = new Random(seed);
+                    for (int i = 0; i < edgesPerWriter; i++) {
+                        if (g.addEdge(random.nextInt(vertices), random.nextInt(vertices))) {
+                            newEdges.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < readers; r++) {
+                final int seed = 100 + r;
+                readerFutures.add(executor.submit(() -> {
+                    start.await();
+                    Random random = new Random(seed);
+                    while (writing.get()) {
+                        int v1 = random.nextInt(vertices);
+                        int v2 = random.nextInt(vertices);
+                        List<Integer> path = g.shortestPath(v1, v2);
+                        if (path != null) {
+                            // Todo arco del camino debe existir: los arcos nunca se eliminan.
+                            assertEquals(Integer.valueOf(v1), path.get(0));
+                            assertEquals(Integer.valueOf(v2), path.get(path.size() - 1));
+                            for (int i = 0; i + 1 < path.size(); i++) {
+                                assertTrue(g.obtainAdjacents(path.get(i)).contains(path.get(i + 1)));
+                            }
+                        }
+                        g.containsVertex(v1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : writerFutures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> f : readerFutures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Cada arco añadido por algún escritor debe estar exactamente una vez.
+        long edgeCount = 0;
+        for (int v = 0; v < vertices; v++) {
+            if (g.containsVertex(v)) {
+                edgeCount += g.obtainAdjacents(v).size();
+            }
+        }
+        assertEquals(newEdges.get(), edgeCount);
+        for (int w = 0; w < writers; w++) {
+            Random random = new Random(w);
+            for (int i = 0; i < edgesPerWriter; i++) {
+                assertFalse(g.addEdge(random.nextInt(vertices), random.nextInt(vertices)));
+            }
+        }
+        assertEquals(edgeCount, g.freeze().edgeCount());
+    }
+}
@@ -0,0 +1,162 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DistanceOracleTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Graph<Integer> randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < m; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        return graph;
+    }
+
+    private static void assertValidPath(Graph<Integer> graph, List<Integer> path, int from, int to, int length) {
+        assertEquals(length + 1, path.size());
+        assertEquals(Integer.valueOf(from), path.get(0));
+        assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+        for (int i = 0; i + 1 < path.size(); i++) {
+            assertTrue(graph.adjacentsView(path.get(i)).contains(path.get(i + 1)));
+        }
+    }
+
+    @Test
+    public void testDistanceAndPath_SmallGraph() {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addEdge("A", "C");
+        graph.addVertex("E");
+        DistanceOracle<String> oracle = DistanceOracle.build(graph);
+        assertEquals(0, oracle.distance("A", "A"));
+        assertEquals(2, oracle.distance("A", "D"));
+        assertEquals(-1, oracle.distance("D", "A"));
+        assertEquals(-1, oracle.distance("A", "E"));
+        assertEquals(-1, oracle.distance("A", "Z"));
+        assertEquals(Arrays.asList("A", "C", "D"), oracle.shortestPath("A", "D"));
+        assertEquals(Arrays.asList("A"), oracle.shortestPath("A", "A"));
+        assertNull(oracle.shortestPath("D", "A"));
+        assertNull(oracle.shortestPath("Z", "A"));
+        assertTrue(oracle.containsVertex("E"));
+        assertEquals(5, oracle.vertexCount());
+    }
+
+    @Test
+    public void testDistance_RandomGraph_MatchesBfs() {
+        Graph<Integer> graph = randomGraph(300, 900, 21);
+        DistanceOracle<Integer> oracle = DistanceOracle.build(graph);
+        for (int s = 0; s < 300; s += 7) {
+            BFSTree<Integer> tree = graph.bfsDistances(s);
+            for (int t = 0; t < 300; t++) {
+                int expected = tree.distance(t);
+                assertEquals(expected, oracle.distance(s, t));
+                List<Integer> path = oracle.shortestPath(s, t);
+                if (expected < 0) {
+                    assertNull(path);
+                } else {
+                    assertValidPath(graph, path, s, t, expected);
+                }
+            }
+        }
+        assertTrue(oracle.labelEntries() >= 600);
+        assertTrue(oracle.sizeInBytes() > 0);
+        assertTrue(oracle.toString().startsWith("300 vertices"));
+    }
+
+    @Test
+    public void testDistance_LargeGraphBuiltInParallel_MatchesBfs() {
+        // Grado medio 4: la componente gigante supera PARALLEL_THRESHOLD, así que las
+        // primeras búsquedas hacia delante y hacia atrás se lanzan en paralelo.
+        Graph<Integer> graph = randomGraph(5000, 20000, 8);
+        DistanceOracle<Integer> oracle = DistanceOracle.build(graph);
+        Random random = new Random(1);
+        for (int i = 0; i < 5; i++) {
+            int s = random.nextInt(5000);
+            BFSTree<Integer> tree = graph.bfsDistances(s);
+            for (int j = 0; j < 200; j++) {
+                int t = random.nextInt(5000);
+                assertEquals(tree.distance(t), oracle.distance(s, t));
+            }
+        }
+    }
+
+    @Test
+    public void testDistanceAndPath_BatchedLandmarks_MatchBfs() {
+        // Con 4 hilos, las referencias a partir de SEQUENTIAL_LANDMARKS se procesan en lotes.
+        Graph<Integer> graph = randomGraph(2000, 6000, 5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DistanceOracle<Integer> oracle;
+        try {
+            oracle = DistanceOracle.build(graph.freeze(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        Random random = new Random(2);
+        for (int i = 0; i < 10; i++) {
+            int s = random.nextInt(2000);
+            BFSTree<Integer> tree = graph.bfsDistances(s);
+            for (int j = 0; j < 100; j++) {
+                int t = random.nextInt(2000);
+                assertEquals(tree.distance(t), oracle.distance(s, t));
+                List<Integer> path = oracle.shortestPath(s, t);
+                if (tree.distance(t) < 0) {
+                    assertNull(path);
+                } else {
+                    assertValidPath(graph, path, s, t, tree.distance(t));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAndRead_RoundTrip() throws IOException {
+        Graph<Integer> graph = randomGraph(200, 500, 4);
+        DistanceOracle<Integer> oracle = DistanceOracle.build(graph);
+        File file = folder.newFile();
+        oracle.write(VertexCodec.INTEGER, file.toPath());
+        DistanceOracle<Integer> loaded = DistanceOracle.read(file.toPath(), VertexCodec.INTEGER);
+        assertEquals(oracle.labelEntries(), loaded.labelEntries());
+        for (int s = 0; s < 200; s += 11) {
+            for (int t = 0; t < 200; t++) {
+                assertEquals(oracle.distance(s, t), loaded.distance(s, t));
+                assertEquals(oracle.shortestPath(s, t), loaded.shortestPath(s, t));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRead_NotAnOracleFile_ThrowsIOException() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        DistanceOracle.read(file.toPath(), VertexCodec.INTEGER);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRead_TruncatedFile_ThrowsIOException() throws IOException {
+        File file = folder.newFile();
+        DistanceOracle.build(randomGraph(50, 100, 2)).write(VertexCodec.INTEGER, file.toPath());
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+        DistanceOracle.read(file.toPath(), VertexCodec.INTEGER);
+    }
+}
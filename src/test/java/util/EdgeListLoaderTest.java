@@ -0,0 +1,97 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class EdgeListLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    public void testLoad_SmallFileWithCommentsAndBlankLines() throws IOException {
+        File file = write("# comentario\n1 2\n1\t5\r\n\n2 3\n% otro\n3 4 0.5\n5 4\n-1 1");
+        EdgeList edges = EdgeListLoader.load(file.toPath());
+        assertEquals(6, edges.size());
+        assertEquals(1, edges.source(0));
+        assertEquals(2, edges.target(0));
+        assertEquals(-1, edges.source(5));
+        assertEquals(1, edges.target(5));
+        assertEquals(file.length(), edges.bytes());
+        assertTrue(edges.edgesPerSecond() > 0);
+
+        IntGraph intGraph = edges.toIntGraph();
+        assertArrayEquals(new int[]{1, 5, 4}, intGraph.shortestPath(1, 4));
+        Graph<Integer> graph = edges.toGraph();
+        assertEquals(Arrays.asList(-1, 1, 5, 4), graph.shortestPath(-1, 4));
+        assertEquals(graph.toString(), intGraph.toString());
+    }
+
+    @Test
+    public void testLoad_EmptyFile() throws IOException {
+        EdgeList edges = EdgeListLoader.load(write("").toPath());
+        assertEquals(0, edges.size());
+        assertEquals(0, edges.toIntGraph().vertexCount());
+    }
+
+    @Test
+    public void testLoad_LargeFileSplitInChunks_KeepsFileOrder() throws IOException {
+        // Más de 1 MB para que el fichero se divida en varios trozos.
+        File file = folder.newFile();
+        Random random = new Random(5);
+        int n = 300000;
+        int[] sources = new int[n];
+        int[] targets = new int[n];
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < n; i++) {
+                sources[i] = random.nextInt(1000000);
+                targets[i] = random.nextInt(1000000);
+                writer.write(sources[i] + " " + targets[i] + "\n");
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            EdgeList edges = EdgeListLoader.load(file.toPath(), pool);
+            assertEquals(n, edges.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(sources[i], edges.source(i));
+                assertEquals(targets[i], edges.target(i));
+            }
+            assertTrue(edges.toString().startsWith(n + " edges"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoad_MalformedLine_ThrowsIOException() throws IOException {
+        EdgeListLoader.load(write("1 2\n3 x\n").toPath());
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoad_MissingTarget_ThrowsIOException() throws IOException {
+        EdgeListLoader.load(write("1 2\n3\n").toPath());
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoad_ValueOutOfIntRange_ThrowsIOException() throws IOException {
+        EdgeListLoader.load(write("1 2147483648\n").toPath());
+    }
+}
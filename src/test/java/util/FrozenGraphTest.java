@@ -0,0 +1,142 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FrozenGraphTest {
+
+    private static Graph<Integer> sampleGraph() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        g.addVertex(10); // Vértice aislado
+        return g;
+    }
+
+    @Test
+    public void testFreeze_CountsMatchGraph() {
+        FrozenGraph<Integer> frozen = sampleGraph().freeze();
+        assertEquals(6, frozen.vertexCount());
+        assertEquals(5, frozen.edgeCount());
+    }
+
+    @Test
+    public void testContainsVertex_ExistingAndNonExisting() {
+        FrozenGraph<Integer> frozen = sampleGraph().freeze();
+        assertTrue(frozen.containsVertex(10));
+        assertFalse(frozen.containsVertex(99));
+        assertEquals(-1, frozen.idOf(99));
+    }
+
+    @Test
+    public void testIds_AreDenseAndRoundTrip() {
+        FrozenGraph<Integer> frozen = sampleGraph().freeze();
+        for (int id = 0; id < frozen.vertexCount(); id++) {
+            assertEquals(id, frozen.idOf(frozen.vertexOf(id)));
+        }
+    }
+
+    @Test
+    public void testObtainAdjacents_MatchesGraph() throws Exception {
+        Graph<Integer> g = sampleGraph();
+        FrozenGraph<Integer> frozen = g.freeze();
+        for (int v : Arrays.asList(1, 2, 3, 4, 5, 10)) {
+            assertEquals(g.obtainAdjacents(v), frozen.obtainAdjacents(v));
+        }
+        assertEquals(new HashSet<>(Arrays.asList(2, 5)), frozen.obtainAdjacents(1));
+    }
+
+    @Test(expected = Exception.class)
+    public void testObtainAdjacents_NonExistingVertex_ThrowsException() throws Exception {
+        sampleGraph().freeze().obtainAdjacents(99);
+    }
+
+    @Test
+    public void testShortestPath_MatchesGraph() {
+        Graph<Integer> g = sampleGraph();
+        FrozenGraph<Integer> frozen = g.freeze();
+        assertEquals(Arrays.asList(1, 5, 4), frozen.shortestPath(1, 4));
+        assertEquals(Arrays.asList(3), frozen.shortestPath(3, 3));
+        for (int v1 : Arrays.asList(1, 2, 3, 4, 5, 10, 99)) {
+            for (int v2 : Arrays.asList(1, 2, 3, 4, 5, 10, 99)) {
+                assertEquals(g.shortestPath(v1, v2), frozen.shortestPath(v1, v2));
+            }
+        }
+    }
+
+    @Test
+    public void testShortestPath_ConcurrentQueriesReuseBuffers() throws InterruptedException {
+        Random random = new Random(3);
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 3000; i++) {
+            g.addEdge(random.nextInt(500), random.nextInt(500));
+        }
+        FrozenGraph<Integer> frozen = g.freeze();
+        int[][] pairs = new int[400][];
+        int[] expected = new int[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new int[]{random.nextInt(500), random.nextInt(500)};
+            List<Integer> path = g.shortestPath(pairs[i][0], pairs[i][1]);
+            expected[i] = path == null ? -1 : path.size();
+        }
+        AtomicInteger mismatches = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int round = 0; round < 5; round++) {
+                    for (int i = 0; i < pairs.length; i++) {
+                        List<Integer> path = frozen.shortestPath(pairs[i][0], pairs[i][1]);
+                        if ((path == null ? -1 : path.size()) != expected[i]) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void testShortestPath_NoPathOrMissingVertices_ReturnsNull() {
+        FrozenGraph<Integer> frozen = sampleGraph().freeze();
+        assertNull(frozen.shortestPath(1, 10));
+        assertNull(frozen.shortestPath(4, 1));
+        assertNull(frozen.shortestPath(99, 1));
+        assertNull(frozen.shortestPath(1, 88));
+    }
+
+    @Test
+    public void testFreeze_IsNotAffectedByLaterChanges() {
+        Graph<String> g = new Graph<>();
+        g.addEdge("A", "B");
+        FrozenGraph<String> frozen = g.freeze();
+        g.addEdge("B", "C");
+        assertFalse(frozen.containsVertex("C"));
+        assertNull(frozen.shortestPath("A", "C"));
+        List<String> path = frozen.shortestPath("A", "B");
+        assertEquals(Arrays.asList("A", "B"), path);
+    }
+
+    @Test
+    public void testFreeze_EmptyGraph() {
+        FrozenGraph<String> frozen = new Graph<String>().freeze();
+        assertEquals(0, frozen.vertexCount());
+        assertEquals(0, frozen.edgeCount());
+        assertNull(frozen.shortestPath("A", "B"));
+    }
+}
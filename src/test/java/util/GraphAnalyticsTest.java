@@ -0,0 +1,87 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class GraphAnalyticsTest {
+
+    @Test
+    public void testChain_EccentricityDiameterAndHistogram() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        GraphAnalytics<Integer> analytics = new GraphAnalytics<>(graph);
+        Map<Integer, Integer> eccentricity = analytics.eccentricity();
+        assertEquals(Integer.valueOf(4), eccentricity.get(0));
+        assertEquals(Integer.valueOf(1), eccentricity.get(3));
+        assertEquals(Integer.valueOf(0), eccentricity.get(4));
+        assertEquals(4, analytics.diameter());
+        assertArrayEquals(new long[]{5, 4, 3, 2, 1}, analytics.hopHistogram());
+        // Desde 0 se alcanzan 4 vértices con distancias 1+2+3+4 = 10.
+        assertEquals((4.0 / 4) * (4.0 / 10), analytics.closeness().get(0), 1e-12);
+        assertEquals(0.0, analytics.closeness().get(4), 0.0);
+    }
+
+    @Test
+    public void testRandomGraph_MatchesSingleSourceBfs() {
+        Random random = new Random(9);
+        int n = 500; // Varios lotes de 64 orígenes
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 1200; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            GraphAnalytics<Integer> analytics = new GraphAnalytics<>(graph.freeze(), pool);
+            Map<Integer, Integer> eccentricity = analytics.eccentricity();
+            Map<Integer, Double> closeness = analytics.closeness();
+            long[] histogram = new long[n];
+            int diameter = 0;
+            for (int s = 0; s < n; s++) {
+                BFSTree<Integer> tree = graph.bfsDistances(s);
+                int max = 0;
+                long sum = 0;
+                for (int t = 0; t < n; t++) {
+                    int d = tree.distance(t);
+                    if (d >= 0) {
+                        histogram[d]++;
+                        sum += d;
+                        max = Math.max(max, d);
+                    }
+                }
+                int others = tree.reachableCount() - 1;
+                double expected = others == 0 ? 0 : ((double) others / (n - 1)) * ((double) others / sum);
+                assertEquals(Integer.valueOf(max), eccentricity.get(s));
+                assertEquals(expected, closeness.get(s), 1e-12);
+                diameter = Math.max(diameter, max);
+            }
+            assertEquals(diameter, analytics.diameter());
+            long[] actual = analytics.hopHistogram();
+            assertEquals(diameter + 1, actual.length);
+            for (int d = 0; d <= diameter; d++) {
+                assertEquals(histogram[d], actual[d]);
+            }
+            int estimate = analytics.estimateDiameter(100, 1);
+            assertTrue(estimate > 0 && estimate <= diameter);
+            assertEquals(diameter, analytics.estimateDiameter(n, 1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        GraphAnalytics<String> analytics = new GraphAnalytics<>(new Graph<String>());
+        assertEquals(0, analytics.diameter());
+        assertTrue(analytics.closeness().isEmpty());
+        assertEquals(0, analytics.estimateDiameter(10, 1));
+    }
+}
@@ -0,0 +1,154 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class GraphFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Graph<Integer> sampleGraph() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        g.addEdge(-7, 1);
+        g.addVertex(10);
+        return g;
+    }
+
+    @Test
+    public void testWriteAndOpen_IntegerGraph_SameSemanticsAsGraph() throws Exception {
+        Graph<Integer> g = sampleGraph();
+        Path file = folder.newFile().toPath();
+        GraphFile.write(g, VertexCodec.INTEGER, file);
+        MappedGraph<Integer> mapped = GraphFile.open(file, VertexCodec.INTEGER);
+
+        assertEquals(7, mapped.vertexCount());
+        assertEquals(6, mapped.edgeCount());
+        assertTrue(mapped.containsVertex(10));
+        assertTrue(mapped.containsVertex(-7));
+        assertFalse(mapped.containsVertex(99));
+        for (int v : Arrays.asList(-7, 1, 2, 3, 4, 5, 10)) {
+            assertEquals(g.obtainAdjacents(v), mapped.obtainAdjacents(v));
+            for (int w : Arrays.asList(-7, 1, 2, 3, 4, 5, 10, 99)) {
+                assertEquals(g.shortestPath(v, w), mapped.shortestPath(v, w));
+            }
+        }
+        assertEquals(Arrays.asList(-7, 1, 5, 4), mapped.shortestPath(-7, 4));
+        assertNull(mapped.shortestPath(99, 1));
+    }
+
+    @Test
+    public void testIdsFollowKeyOrder() throws Exception {
+        Path file = folder.newFile().toPath();
+        GraphFile.write(sampleGraph(), VertexCodec.INTEGER, file);
+        MappedGraph<Integer> mapped = GraphFile.open(file, VertexCodec.INTEGER);
+        for (int id = 0; id < mapped.vertexCount(); id++) {
+            assertEquals(id, mapped.idOf(mapped.vertexOf(id)));
+        }
+        assertEquals(Integer.valueOf(-7), mapped.vertexOf(0));
+        assertEquals(Integer.valueOf(10), mapped.vertexOf(mapped.vertexCount() - 1));
+    }
+
+    @Test
+    public void testWriteAndOpen_StringGraph() throws Exception {
+        Graph<String> g = new Graph<>();
+        g.addEdge("Madrid", "Paris");
+        g.addEdge("Paris", "Berlin");
+        g.addEdge("Madrid", "Lisboa");
+        g.addEdge("Lisboa", "París");
+        g.addVertex("");
+        Path file = folder.newFile().toPath();
+        GraphFile.write(g, VertexCodec.STRING, file);
+        MappedGraph<String> mapped = GraphFile.open(file, VertexCodec.STRING);
+        assertEquals(Arrays.asList("Madrid", "Paris", "Berlin"), mapped.shortestPath("Madrid", "Berlin"));
+        assertEquals(Arrays.asList("Madrid", "Lisboa", "París"), mapped.shortestPath("Madrid", "París"));
+        assertTrue(mapped.containsVertex(""));
+        assertFalse(mapped.containsVertex("Roma"));
+    }
+
+    @Test(expected = Exception.class)
+    public void testObtainAdjacents_NonExistingVertex_ThrowsException() throws Exception {
+        Path file = folder.newFile().toPath();
+        GraphFile.write(sampleGraph(), VertexCodec.INTEGER, file);
+        GraphFile.open(file, VertexCodec.INTEGER).obtainAdjacents(99);
+    }
+
+    @Test
+    public void testEmptyGraph() throws Exception {
+        Path file = folder.newFile().toPath();
+        GraphFile.write(new Graph<String>(), VertexCodec.STRING, file);
+        MappedGraph<String> mapped = GraphFile.open(file, VertexCodec.STRING);
+        assertEquals(0, mapped.vertexCount());
+        assertNull(mapped.shortestPath("A", "B"));
+    }
+
+    @Test
+    public void testRandomGraph_PathsMatchFrozenGraph() throws Exception {
+        Random random = new Random(9);
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 3000; i++) {
+            g.addEdge(random.nextInt(800), random.nextInt(800));
+        }
+        Path file = folder.newFile().toPath();
+        GraphFile.write(g, VertexCodec.INTEGER, file);
+        MappedGraph<Integer> mapped = GraphFile.open(file, VertexCodec.INTEGER);
+        for (int i = 0; i < 200; i++) {
+            int v1 = random.nextInt(800);
+            int v2 = random.nextInt(800);
+            List<Integer> expected = g.shortestPath(v1, v2);
+            List<Integer> actual = mapped.shortestPath(v1, v2);
+            assertEquals(expected == null, actual == null);
+            if (expected != null) {
+                assertEquals(expected.size(), actual.size());
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpen_NotAGraphFile_ThrowsIOException() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "esto no es un grafo, es texto".getBytes("UTF-8"));
+        GraphFile.open(file, VertexCodec.STRING);
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpen_TruncatedFile_ThrowsIOException() throws IOException {
+        Path file = folder.newFile().toPath();
+        GraphFile.write(sampleGraph(), VertexCodec.INTEGER, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        GraphFile.open(file, VertexCodec.INTEGER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrite_DuplicateEncodings_Throws() throws IOException {
+        Graph<String> g = new Graph<>();
+        g.addEdge("a", "A");
+        VertexCodec<String> caseInsensitive = new VertexCodec<String>() {
+            @Override
+            public byte[] encode(String v) {
+                return VertexCodec.STRING.encode(v.toLowerCase());
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return VertexCodec.STRING.decode(bytes);
+            }
+        };
+        GraphFile.write(g, caseInsensitive, folder.newFile().toPath());
+    }
+}
@@ -0,0 +1,121 @@
+package util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class GraphMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        GraphMetrics.disable();
+        GraphMetrics.reset();
+        graph = new Graph<>();
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 4);
+        graph.addEdge(3, 4);
+        graph.addVertex(5);
+    }
+
+    @After
+    public void tearDown() {
+        GraphMetrics.disable();
+        GraphMetrics.reset();
+    }
+
+    @Test
+    public void testDisabled_RecordsNothing() {
+        graph.shortestPath(1, 4);
+        graph.addEdge(4, 5);
+        assertFalse(GraphMetrics.isEnabled());
+        assertEquals(0, GraphMetrics.shortestPathCount());
+        assertEquals(0, GraphMetrics.addEdgeCount());
+        assertEquals(0, GraphMetrics.shortestPathLatency().count());
+    }
+
+    @Test
+    public void testEnabled_CountsQueriesAndEdges() {
+        GraphMetrics.enable();
+        assertNotNull(graph.shortestPath(1, 4));
+        assertNull(graph.shortestPath(1, 5));
+        assertTrue(graph.addEdge(4, 5));
+        assertFalse(graph.addEdge(4, 5));
+
+        assertEquals(2, GraphMetrics.shortestPathCount());
+        assertEquals(1, GraphMetrics.unreachableCount());
+        // 1 -> 4: 1, 2, 3 y 4 extraídos; 1 -> 5: 1, 2, 3 y 4 extraídos sin encontrarlo.
+        assertEquals(8, GraphMetrics.verticesDequeued());
+        assertEquals(8, GraphMetrics.edgesScanned());
+        assertEquals(2, GraphMetrics.frontierPeak());
+        assertEquals(2, GraphMetrics.shortestPathLatency().count());
+        assertEquals(2, GraphMetrics.addEdgeCount());
+        assertTrue(GraphMetrics.summary().contains("2 queries (1 unreachable)"));
+    }
+
+    @Test
+    public void testEnabled_CountsBoundedQueries() {
+        GraphMetrics.enable();
+        PathQueryOptions options = PathQueryOptions.unbounded().withMaxDepth(5);
+        assertEquals(PathResult.Status.FOUND, graph.shortestPath(1, 4, options).status());
+        assertEquals(PathResult.Status.UNREACHABLE, graph.shortestPath(1, 5, options).status());
+
+        assertEquals(2, GraphMetrics.shortestPathCount());
+        assertEquals(1, GraphMetrics.unreachableCount());
+        // 1 -> 4: se encuentra al recorrer el arco 2 -> 4; 1 -> 5: se agota el grafo.
+        assertEquals(6, GraphMetrics.verticesDequeued());
+        assertEquals(7, GraphMetrics.edgesScanned());
+        assertEquals(2, GraphMetrics.frontierPeak());
+        assertEquals(2, GraphMetrics.shortestPathLatency().count());
+    }
+
+    @Test
+    public void testEnabled_EmitsFlightRecorderEvents() throws Exception {
+        GraphMetrics.enable();
+        Path file = folder.newFile("graph.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("util.ShortestPath");
+            recording.enable("util.AddEdge");
+            recording.enable("util.BulkOperation");
+            recording.start();
+            graph.shortestPath(1, 4);
+            graph.addEdge(5, 1);
+            graph.freeze();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent path = find(events, "util.ShortestPath");
+        assertEquals("1", path.getString("source"));
+        assertEquals("4", path.getString("target"));
+        assertEquals(2, path.getInt("pathLength"));
+        assertEquals(4, path.getLong("dequeued"));
+        assertTrue(find(events, "util.AddEdge").getBoolean("added"));
+        assertEquals("freeze", find(events, "util.BulkOperation").getString("operation"));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        fail("No " + name + " event recorded");
+        return null;
+    }
+}
@@ -7,7 +7,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class GraphTest {
 
@@ -208,4 +210,493 @@ public class GraphTest {
         List<Integer> expectedPath = Arrays.asList(1, 4);
         assertEquals(expectedPath, g.shortestPath(1, 4));
     }
-}
\ No newline at end of file
+
+    // --- Pruebas para shortestPathBidirectional ---
+
+    @Test
+    public void shortestPathBidirectional_FindsAPath() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        assertEquals(Arrays.asList(1, 5, 4), g.shortestPathBidirectional(1, 4));
+    }
+
+    @Test
+    public void shortestPathBidirectional_NoPathOrMissingVertices_ReturnsNull() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(3, 4);
+        g.addVertex(5);
+        assertNull(g.shortestPathBidirectional(1, 4));
+        assertNull(g.shortestPathBidirectional(4, 1));
+        assertNull(g.shortestPathBidirectional(1, 5));
+        assertNull(g.shortestPathBidirectional(99, 1));
+        assertNull(g.shortestPathBidirectional(1, 88));
+        assertNull(new Graph<String>().shortestPathBidirectional("A", "B"));
+    }
+
+    @Test
+    public void shortestPathBidirectional_PathToSelf_ReturnsSingleNodeList() {
+        Graph<Integer> g = new Graph<>();
+        g.addVertex(1);
+        assertEquals(Arrays.asList(1), g.shortestPathBidirectional(1, 1));
+    }
+
+    @Test
+    public void shortestPathBidirectional_PrefersShorterPath() {
+        Graph<String> g = new Graph<>();
+        g.addEdge("A", "B");
+        g.addEdge("B", "D");
+        g.addEdge("A", "E");
+        g.addEdge("E", "F");
+        g.addEdge("F", "D");
+        g.addEdge("A", "C");
+        g.addEdge("C", "G");
+        g.addEdge("G", "H");
+        g.addEdge("H", "D");
+        assertEquals(Arrays.asList("A", "B", "D"), g.shortestPathBidirectional("A", "D"));
+    }
+
+    @Test
+    public void shortestPathBidirectional_CycleAndDirectEdge() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(3, 1);
+        g.addEdge(3, 4);
+        assertEquals(Arrays.asList(1, 2, 3, 4), g.shortestPathBidirectional(1, 4));
+        g.addEdge(1, 4);
+        assertEquals(Arrays.asList(1, 4), g.shortestPathBidirectional(1, 4));
+    }
+
+    @Test
+    public void shortestPathBidirectional_SameLengthAsShortestPathOnRandomGraph() throws Exception {
+        Random random = new Random(42);
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 300; i++) {
+            g.addEdge(random.nextInt(100), random.nextInt(100));
+        }
+        for (int v1 = 0; v1 < 100; v1 += 3) {
+            for (int v2 = 0; v2 < 100; v2 += 7) {
+                List<Integer> expected = g.shortestPath(v1, v2);
+                List<Integer> actual = g.shortestPathBidirectional(v1, v2);
+                if (expected == null) {
+                    assertNull(actual);
+                    continue;
+                }
+                assertEquals(expected.size(), actual.size());
+                assertEquals(Integer.valueOf(v1), actual.get(0));
+                assertEquals(Integer.valueOf(v2), actual.get(actual.size() - 1));
+                for (int i = 0; i + 1 < actual.size(); i++) {
+                    assertTrue(g.obtainAdjacents(actual.get(i)).contains(actual.get(i + 1)));
+                }
+            }
+        }
+    }
+
+    // --- Pruebas para el acceso sin copia a los adyacentes ---
+
+    @Test
+    public void testAdjacentsView_ReflectsLaterEdgesAndIsUnmodifiable() {
+        Graph<String> g = new Graph<>();
+        g.addEdge("A", "B");
+        Set<String> view = g.adjacentsView("A");
+        assertEquals(new HashSet<>(Arrays.asList("B")), view);
+        g.addEdge("A", "C");
+        assertTrue(view.contains("C"));
+        try {
+            view.add("D");
+            fail("The view should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            // Esperado
+        }
+        assertFalse(g.containsVertex("D"));
+    }
+
+    @Test
+    public void testForEachAdjacentAndOutDegree() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 3);
+        g.addVertex(4);
+        Set<Integer> visited = new HashSet<>();
+        g.forEachAdjacent(1, visited::add);
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), visited);
+        assertEquals(2, g.outDegree(1));
+        assertEquals(0, g.outDegree(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAdjacentsView_NonExistingVertex_Throws() {
+        new Graph<String>().adjacentsView("Z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutDegree_NonExistingVertex_Throws() {
+        new Graph<String>().outDegree("Z");
+    }
+
+    @Test
+    public void testRegisterSource_DistancesFollowNewEdges() {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addVertex("E");
+        assertTrue(graph.registerSource("A"));
+        assertFalse(graph.registerSource("A"));
+        assertEquals(3, graph.distanceFrom("A", "D"));
+        assertEquals(-1, graph.distanceFrom("A", "E"));
+
+        graph.addEdge("A", "C"); // Atajo: acorta C y D
+        assertEquals(1, graph.distanceFrom("A", "C"));
+        assertEquals(2, graph.distanceFrom("A", "D"));
+        assertEquals(Arrays.asList("A", "C", "D"), graph.shortestPath("A", "D"));
+
+        graph.addEdge("E", "F"); // Zona inalcanzable: no cambia nada
+        assertEquals(-1, graph.distanceFrom("A", "F"));
+        graph.addEdge("D", "E");
+        assertEquals(4, graph.distanceFrom("A", "F"));
+        assertEquals(Arrays.asList("A", "C", "D", "E", "F"), graph.shortestPath("A", "F"));
+        assertEquals(Arrays.asList("A"), graph.shortestPath("A", "A"));
+        assertNull(graph.shortestPath("A", "Z"));
+    }
+
+    @Test
+    public void testRegisterSource_MatchesBfsOnRandomInsertions() {
+        Random random = new Random(13);
+        Graph<Integer> graph = new Graph<>();
+        Graph<Integer> plain = new Graph<>();
+        graph.addVertex(0);
+        plain.addVertex(0);
+        graph.registerSource(0);
+        for (int i = 0; i < 2000; i++) {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            graph.addEdge(u, v);
+            plain.addEdge(u, v);
+            if (i % 100 == 99) {
+                for (int target = 0; target < 300; target++) {
+                    List<Integer> expected = plain.shortestPath(0, target);
+                    List<Integer> actual = graph.shortestPath(0, target);
+                    assertEquals(expected == null ? -1 : expected.size() - 1, graph.distanceFrom(0, target));
+                    assertEquals(expected == null ? null : expected.size(), actual == null ? null : actual.size());
+                }
+            }
+        }
+        assertTrue(graph.unregisterSource(0));
+        assertFalse(graph.unregisterSource(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterSource_NonExistingVertex_Throws() {
+        new Graph<String>().registerSource("Z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistanceFrom_UnregisteredSource_Throws() {
+        Graph<String> graph = new Graph<>();
+        graph.addVertex("A");
+        graph.distanceFrom("A", "A");
+    }
+
+    @Test
+    public void testIsReachable_IndexFollowsNewEdgesAndVertices() {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("D", "A");
+        assertTrue(graph.isReachable("D", "C"));
+        assertFalse(graph.isReachable("C", "A"));
+        assertFalse(graph.isReachable("A", "Z"));
+        assertNull(graph.shortestPath("C", "D"));
+        assertNull(graph.shortestPathBidirectional("C", "D"));
+
+        graph.addEdge("A", "C"); // Ya alcanzable: el índice sigue valiendo
+        assertEquals(Arrays.asList("A", "C"), graph.shortestPath("A", "C"));
+        graph.addEdge("C", "D"); // Crea caminos nuevos: el índice se invalida
+        assertTrue(graph.isReachable("C", "A"));
+        assertEquals(Arrays.asList("C", "D", "A"), graph.shortestPath("C", "A"));
+        graph.addEdge("C", "E");
+        assertTrue(graph.isReachable("B", "E"));
+        assertFalse(graph.isReachable("E", "B"));
+    }
+
+    @Test
+    public void testRemoveEdge_UpdatesPathsAndToString() throws Exception {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("A", "C");
+        assertEquals(Arrays.asList("A", "C"), graph.shortestPath("A", "C"));
+        assertTrue(graph.removeEdge("A", "C"));
+        assertFalse(graph.removeEdge("A", "C"));
+        assertFalse(graph.removeEdge("Z", "A"));
+        assertEquals(Arrays.asList("A", "B", "C"), graph.shortestPath("A", "C"));
+        assertEquals(Arrays.asList("A", "B", "C"), graph.shortestPathBidirectional("A", "C"));
+        assertEquals(new HashSet<>(Arrays.asList("B")), graph.obtainAdjacents("A"));
+        assertEquals("A=[B]\nB=[C]\nC=[]\n", graph.toString());
+    }
+
+    @Test
+    public void testRemoveVertex_RemovesIncidentEdges() {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "B");
+        graph.addEdge("B", "B");
+        graph.addEdge("A", "D");
+        graph.addEdge("D", "C");
+        assertTrue(graph.isReachable("A", "C"));
+        assertTrue(graph.removeVertex("B"));
+        assertFalse(graph.removeVertex("B"));
+        assertFalse(graph.containsVertex("B"));
+        assertEquals("A=[D]\nC=[]\nD=[C]\n", graph.toString());
+        assertEquals(Arrays.asList("A", "D", "C"), graph.shortestPath("A", "C"));
+        assertNull(graph.shortestPathBidirectional("C", "A"));
+        graph.removeVertex("D");
+        assertFalse(graph.isReachable("A", "C"));
+        assertNull(graph.shortestPath("A", "C"));
+        assertTrue(graph.addEdge("B", "A")); // Se puede volver a añadir
+        assertEquals(Arrays.asList("B", "A"), graph.shortestPath("B", "A"));
+    }
+
+    @Test
+    public void testRemove_KeepsRegisteredSourcesCurrent() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(0, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 2);
+        graph.registerSource(0);
+        graph.registerSource(4);
+        assertEquals(2, graph.distanceFrom(0, 2));
+        assertTrue(graph.removeEdge(1, 2));
+        assertEquals(3, graph.distanceFrom(0, 2));
+        assertEquals(Arrays.asList(0, 3, 4, 2), graph.shortestPath(0, 2));
+        assertTrue(graph.removeVertex(3));
+        assertEquals(-1, graph.distanceFrom(0, 2));
+        assertEquals(1, graph.distanceFrom(4, 2));
+        graph.removeVertex(4);
+        assertFalse(graph.unregisterSource(4)); // Eliminar el vértice elimina el origen
+    }
+
+    @Test
+    public void testTombstoneMode_DefersRemovalsUntilCompact() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 10; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        graph.registerSource(0);
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(graph, 4);
+        assertEquals(11, cache.shortestPath(0, 10).size());
+
+        graph.setTombstoneMode(true);
+        assertTrue(graph.isTombstoneMode());
+        assertTrue(graph.removeEdge(0, 1));
+        assertFalse(graph.removeEdge(0, 1));
+        assertTrue(graph.removeVertex(5));
+        assertFalse(graph.removeVertex(5));
+        assertFalse(graph.removeEdge(4, 5)); // Su destino ya está marcado
+        assertTrue(graph.removeVertex(6));
+        assertEquals(3, graph.pendingRemovals());
+
+        // Cualquier consulta compacta antes: nunca ve lo marcado.
+        assertFalse(graph.containsVertex(5));
+        assertEquals(0, graph.pendingRemovals());
+        assertNull(graph.shortestPath(0, 10));
+        assertNull(cache.shortestPath(0, 10));
+        assertEquals(-1, graph.distanceFrom(0, 1));
+        assertEquals(Arrays.asList(7, 8), graph.shortestPath(7, 8));
+
+        graph.removeVertex(8);
+        graph.compact();
+        assertEquals(0, graph.pendingRemovals());
+        assertEquals("0=[]\n1=[2]\n2=[3]\n3=[4]\n4=[]\n7=[]\n9=[10]\n10=[]\n", graph.toString());
+        graph.removeVertex(9);
+        graph.setTombstoneMode(false);
+        assertFalse(graph.containsVertex(9));
+    }
+
+    @Test
+    public void testTombstoneMode_ReusedTraversalSkipsMarkedRemovals() {
+        Graph<Integer> graph = chain(6);
+        Traversal<Integer> traversal = graph.newTraversal();
+        assertEquals(7, graph.shortestPath(0, 6).size());
+        Set<Integer> view = graph.adjacentsView(2);
+
+        graph.setTombstoneMode(true);
+        graph.removeEdge(2, 3);
+        assertTrue(view.contains(3)); // La vista lee la lista sin compactar
+        assertNull(traversal.shortestPath(0, 6));
+        assertFalse(view.contains(3));
+
+        graph.removeVertex(1);
+        List<Integer> order = new ArrayList<>();
+        traversal.bfs(0).forEachRemaining(order::add);
+        assertEquals(Arrays.asList(0), order);
+        graph.removeVertex(5);
+        order.clear();
+        traversal.dfs(3).forEachRemaining(order::add);
+        assertEquals(Arrays.asList(3, 4), order);
+        assertEquals(0, graph.pendingRemovals());
+    }
+
+    @Test
+    public void testRemove_MatchesRebuiltGraphOnRandomOperations() {
+        Random random = new Random(21);
+        Graph<Integer> graph = new Graph<>();
+        Set<List<Integer>> edges = new HashSet<>();
+        for (int i = 0; i < 3000; i++) {
+            int u = random.nextInt(200);
+            int v = random.nextInt(200);
+            graph.addEdge(u, v);
+            edges.add(Arrays.asList(u, v));
+        }
+        graph.setTombstoneMode(true);
+        for (int i = 0; i < 400; i++) {
+            int u = random.nextInt(200);
+            if (i % 4 == 0) {
+                graph.removeVertex(u);
+                edges.removeIf(e -> e.contains(u));
+            } else {
+                int v = random.nextInt(200);
+                graph.removeEdge(u, v);
+                edges.remove(Arrays.asList(u, v));
+            }
+            if (i == 200) {
+                graph.setTombstoneMode(false);
+            }
+        }
+        Graph<Integer> rebuilt = new Graph<>();
+        for (int v = 0; v < 200; v++) {
+            if (graph.containsVertex(v)) {
+                rebuilt.addVertex(v);
+            }
+        }
+        for (List<Integer> e : edges) {
+            rebuilt.addEdge(e.get(0), e.get(1));
+        }
+        assertEquals(rebuilt.toString(), graph.toString());
+        for (int i = 0; i < 100; i++) {
+            int u = random.nextInt(200);
+            int v = random.nextInt(200);
+            List<Integer> expected = rebuilt.shortestPath(u, v);
+            List<Integer> bidirectional = graph.shortestPathBidirectional(u, v);
+            assertEquals(expected == null ? null : expected.size(), bidirectional == null ? null : bidirectional.size());
+        }
+    }
+
+    private static Graph<Integer> chain(int length) {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < length; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        return graph;
+    }
+
+    @Test
+    public void testBoundedShortestPath_FoundAndUnreachable() {
+        Graph<Integer> graph = chain(10);
+        graph.addVertex(99);
+        PathResult<Integer> found = graph.shortestPath(0, 3, PathQueryOptions.unbounded().withMaxDepth(3));
+        assertEquals(PathResult.Status.FOUND, found.status());
+        assertNull(found.limit());
+        assertEquals(Arrays.asList(0, 1, 2, 3), found.path());
+        assertEquals(3, found.depth());
+        assertEquals(4, found.visited());
+
+        PathResult<Integer> unreachable = graph.shortestPath(5, 0, PathQueryOptions.unbounded());
+        assertEquals(PathResult.Status.UNREACHABLE, unreachable.status());
+        assertNull(unreachable.path());
+        assertEquals(6, unreachable.visited());
+        assertEquals(PathResult.Status.UNREACHABLE, graph.shortestPath(0, 42, PathQueryOptions.unbounded()).status());
+        assertEquals(PathResult.Status.FOUND, graph.shortestPath(99, 99, PathQueryOptions.unbounded()).status());
+    }
+
+    @Test
+    public void testBoundedShortestPath_DepthAndVisitedBudgets() {
+        Graph<Integer> graph = chain(10);
+        PathResult<Integer> depth = graph.shortestPath(0, 10, PathQueryOptions.unbounded().withMaxDepth(4));
+        assertEquals(PathResult.Status.BUDGET_EXHAUSTED, depth.status());
+        assertEquals(PathResult.Limit.DEPTH, depth.limit());
+        assertEquals(4, depth.depth());
+        assertEquals(5, depth.visited());
+
+        PathResult<Integer> visited = graph.shortestPath(0, 10, PathQueryOptions.unbounded().withMaxVisited(7));
+        assertEquals(PathResult.Limit.VISITED, visited.limit());
+        assertEquals(7, visited.visited());
+        assertEquals(6, visited.depth());
+        assertTrue(visited.toString().startsWith("BUDGET_EXHAUSTED (VISITED)"));
+
+        graph.registerSource(0);
+        assertEquals(PathResult.Limit.DEPTH,
+                graph.shortestPath(0, 10, PathQueryOptions.unbounded().withMaxDepth(9)).limit());
+        assertEquals(11, graph.shortestPath(0, 10, PathQueryOptions.unbounded().withMaxDepth(10)).path().size());
+    }
+
+    @Test
+    public void testBoundedShortestPath_CancellationAndDeadline() throws InterruptedException {
+        Graph<Integer> graph = chain(5000);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        PathResult<Integer> cancelled = graph.shortestPath(0, 5000, PathQueryOptions.unbounded().withCancellation(token));
+        assertEquals(PathResult.Limit.CANCELLED, cancelled.limit());
+        assertEquals(1, cancelled.visited());
+
+        PathResult<Integer> late = graph.shortestPath(0, 5000,
+                PathQueryOptions.unbounded().withTimeout(0, TimeUnit.NANOSECONDS));
+        assertEquals(PathResult.Limit.DEADLINE, late.limit());
+
+        // Sin límites alcanzados, el resultado coincide con shortestPath(v1, v2).
+        PathQueryOptions generous = PathQueryOptions.unbounded()
+                .withTimeout(1, TimeUnit.MINUTES)
+                .withCancellation(new CancellationToken());
+        assertEquals(graph.shortestPath(0, 5000), graph.shortestPath(0, 5000, generous).path());
+    }
+
+    @Test
+    public void testBoundedShortestPath_HighDegreeHub_StopsInsideNeighborLoop() {
+        Graph<Integer> graph = new Graph<>();
+        int degree = 300000;
+        for (int i = 1; i <= degree; i++) {
+            graph.addEdge(0, i);
+        }
+        graph.addVertex(-1);
+        // Con profundidad 1 sólo se extrae el hub: el plazo tiene que vencer mientras
+        // se recorren sus vecinos, no entre un vértice y el siguiente.
+        PathResult<Integer> late = graph.shortestPath(0, -1,
+                PathQueryOptions.unbounded().withMaxDepth(1).withTimeout(1, TimeUnit.MILLISECONDS));
+        assertEquals(PathResult.Limit.DEADLINE, late.limit());
+        assertTrue(late.edgesScanned() < degree);
+        assertEquals(0, late.depth());
+    }
+
+    @Test
+    public void testBoundedShortestPath_RegisteredSourceHonoursBudgets() {
+        Graph<Integer> graph = chain(10);
+        graph.registerSource(0);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        assertEquals(PathResult.Limit.CANCELLED,
+                graph.shortestPath(0, 10, PathQueryOptions.unbounded().withCancellation(token)).limit());
+
+        // Con límite de visitados se recorre el grafo en lugar de usar el origen registrado.
+        PathResult<Integer> visited = graph.shortestPath(0, 10, PathQueryOptions.unbounded().withMaxVisited(7));
+        assertEquals(PathResult.Limit.VISITED, visited.limit());
+        assertEquals(7, visited.visited());
+        PathResult<Integer> found = graph.shortestPath(0, 10, PathQueryOptions.unbounded().withMaxVisited(11));
+        assertEquals(PathResult.Status.FOUND, found.status());
+        assertEquals(11, found.visited());
+        assertEquals(10, found.edgesScanned());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPathQueryOptions_InvalidBudget_Throws() {
+        PathQueryOptions.unbounded().withMaxVisited(0);
+    }
+}
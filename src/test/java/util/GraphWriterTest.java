@@ -0,0 +1,88 @@
+package util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class GraphWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        graph = new Graph<>();
+        graph.addEdge(3, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 3);
+        graph.addVertex(4);
+    }
+
+    private String write(Graph<?> g, GraphFormat format, boolean sorted) throws IOException {
+        StringWriter out = new StringWriter();
+        g.writeTo(out, format, sorted);
+        return out.toString();
+    }
+
+    @Test
+    public void testWriteTo_AdjacencyListSorted_MatchesToString() throws IOException {
+        assertEquals("1=[2, 3]\n2=[]\n3=[1]\n4=[]\n", write(graph, GraphFormat.ADJACENCY_LIST, true));
+        assertEquals(graph.toString(), write(graph, GraphFormat.ADJACENCY_LIST, true));
+    }
+
+    @Test
+    public void testWriteTo_Dot() throws IOException {
+        Graph<String> g = new Graph<>();
+        g.addEdge("a", "say \"hi\"");
+        assertEquals("digraph G {\n  \"a\" -> \"say \\\"hi\\\"\";\n  \"say \\\"hi\\\"\";\n}\n",
+                write(g, GraphFormat.DOT, true));
+    }
+
+    @Test
+    public void testWriteTo_EdgeListUnsorted_ContainsEveryArc() throws IOException {
+        Set<String> lines = new HashSet<>(Arrays.asList(write(graph, GraphFormat.EDGE_LIST, false).split("\n")));
+        assertEquals(new HashSet<>(Arrays.asList("1 2", "1 3", "3 1")), lines);
+    }
+
+    @Test
+    public void testWriteTo_NonComparableVertices_KeepsIterationOrder() throws IOException {
+        Graph<Object> g = new Graph<>();
+        Object a = new Object();
+        g.addEdge(a, a);
+        assertEquals(a + "=[" + a + "]\n", write(g, GraphFormat.ADJACENCY_LIST, true));
+    }
+
+    @Test
+    public void testWriteTo_LargeGraphToChannel_RoundTripsThroughLoader() throws IOException {
+        // Mayor que el búfer, para que se vuelque varias veces.
+        Graph<Integer> large = new Graph<>();
+        for (int i = 0; i < 50000; i++) {
+            large.addEdge(i, (i * 7 + 1) % 50000);
+        }
+        File file = folder.newFile();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            large.writeTo(channel, GraphFormat.EDGE_LIST, true);
+        }
+        assertEquals(large.toString(), EdgeListLoader.load(file.toPath()).toGraph().toString());
+
+        StringWriter adjacency = new StringWriter();
+        large.writeTo(adjacency, GraphFormat.ADJACENCY_LIST, true);
+        assertEquals(large.toString(), adjacency.toString());
+        assertTrue(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).startsWith("0 1\n1 8\n"));
+    }
+}
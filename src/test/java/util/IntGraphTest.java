@@ -0,0 +1,124 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class IntGraphTest {
+
+    @Test
+    public void testAddVertex_NewAndExisting() {
+        IntGraph graph = new IntGraph();
+        assertTrue(graph.addVertex(10));
+        assertFalse(graph.addVertex(10));
+        assertTrue(graph.containsVertex(10));
+        assertFalse(graph.containsVertex(20));
+        assertEquals(1, graph.vertexCount());
+    }
+
+    @Test
+    public void testAddEdge_NewAndExisting() throws Exception {
+        IntGraph graph = new IntGraph();
+        assertTrue(graph.addEdge(1, 2));
+        assertFalse(graph.addEdge(1, 2));
+        assertTrue(graph.containsVertex(1));
+        assertTrue(graph.containsVertex(2));
+        assertArrayEquals(new int[]{2}, graph.obtainAdjacents(1));
+        assertArrayEquals(new int[0], graph.obtainAdjacents(2));
+        assertEquals(1, graph.edgeCount());
+        assertEquals(1, graph.outDegree(1));
+    }
+
+    @Test
+    public void testNegativeAndExtremeVertexValues() {
+        IntGraph graph = new IntGraph();
+        graph.addEdge(-1, Integer.MIN_VALUE);
+        graph.addEdge(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertArrayEquals(new int[]{-1, Integer.MIN_VALUE, Integer.MAX_VALUE},
+                graph.shortestPath(-1, Integer.MAX_VALUE));
+    }
+
+    @Test(expected = Exception.class)
+    public void testObtainAdjacents_NonExistingVertex_ThrowsException() throws Exception {
+        new IntGraph().obtainAdjacents(99);
+    }
+
+    @Test
+    public void testForEachAdjacent_VisitsInInsertionOrder() throws Exception {
+        IntGraph graph = new IntGraph();
+        graph.addEdge(1, 7);
+        graph.addEdge(1, 3);
+        graph.addEdge(1, 5);
+        final List<Integer> visited = new ArrayList<>();
+        graph.forEachAdjacent(1, visited::add);
+        assertEquals(Arrays.asList(7, 3, 5), visited);
+    }
+
+    @Test
+    public void testShortestPath_SameCasesAsGraph() {
+        IntGraph g = new IntGraph();
+        g.addEdge(1, 2);
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        g.addVertex(10);
+        assertArrayEquals(new int[]{1, 5, 4}, g.shortestPath(1, 4));
+        assertArrayEquals(new int[]{3}, g.shortestPath(3, 3));
+        assertNull(g.shortestPath(1, 10));
+        assertNull(g.shortestPath(99, 1));
+        assertNull(g.shortestPath(1, 88));
+        assertNull(new IntGraph().shortestPath(1, 2));
+    }
+
+    @Test
+    public void testToString_SameFormatAsGraph() {
+        IntGraph graph = new IntGraph();
+        graph.addEdge(1, 3);
+        graph.addEdge(1, 2);
+        graph.addVertex(4);
+        graph.addVertex(0);
+        assertEquals("0=[]\n1=[2, 3]\n2=[]\n3=[]\n4=[]\n", graph.toString());
+    }
+
+    @Test
+    public void testLargeRandomGraph_AgreesWithGraph() {
+        Random random = new Random(7);
+        IntGraph intGraph = new IntGraph(1, 1); // Fuerza varios redimensionados
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 5000; i++) {
+            int v1 = random.nextInt(1000) - 500;
+            int v2 = random.nextInt(1000) - 500;
+            assertEquals(graph.addEdge(v1, v2), intGraph.addEdge(v1, v2));
+        }
+        for (int i = 0; i < 200; i++) {
+            int v1 = random.nextInt(1000) - 500;
+            int v2 = random.nextInt(1000) - 500;
+            List<Integer> expected = graph.shortestPath(v1, v2);
+            int[] actual = intGraph.shortestPath(v1, v2);
+            if (expected == null) {
+                assertNull(actual);
+            } else {
+                assertEquals(expected.size(), actual.length);
+            }
+        }
+        assertEquals(graph.toString(), intGraph.toString());
+    }
+
+    @Test
+    public void testShortestPath_InterleavedWithGrowth() {
+        IntGraph graph = new IntGraph(1, 1);
+        graph.addEdge(0, 1);
+        assertArrayEquals(new int[]{0, 1}, graph.shortestPath(0, 1));
+        for (int i = 1; i < 3000; i++) {
+            graph.addEdge(i, i + 1);
+            // Los arrays de búsqueda crecen con el grafo y no arrastran visitas anteriores.
+            assertEquals(i + 2, graph.shortestPath(0, i + 1).length);
+            assertNull(graph.shortestPath(i + 1, 0));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets_RelativeErrorBounded() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123456789L, Long.MAX_VALUE};
+        for (long v : values) {
+            int index = LatencyHistogram.indexOf(v);
+            long upper = LatencyHistogram.upperBound(index);
+            assertTrue(v + " <= " + upper, v <= upper);
+            assertTrue((upper - v) <= v / 16 + 1);
+            assertEquals(index, LatencyHistogram.indexOf(upper));
+        }
+    }
+
+    @Test
+    public void testPercentilesAndSummary() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.max());
+        assertEquals(500.5, histogram.mean(), 1e-9);
+        long p50 = histogram.percentile(50);
+        assertTrue(p50 >= 500 && p50 <= 500 * 17 / 16);
+        assertEquals(1000, histogram.percentile(100));
+        assertTrue(histogram.toString().startsWith("count=1000"));
+        histogram.reset();
+        assertEquals(0, histogram.count());
+    }
+
+    @Test
+    public void testRecord_ConcurrentThreads() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40000, histogram.count());
+        assertEquals(9999, histogram.max());
+    }
+}
@@ -0,0 +1,138 @@
+package util;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class OffHeapGraphTest {
+
+    private OffHeapGraph<Integer> graph;
+
+    @Before
+    public void setUp() {
+        graph = new OffHeapGraph<>();
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 5);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(5, 4);
+        graph.addVertex(10);
+    }
+
+    @Test
+    public void testAddVertexAndEdge() throws Exception {
+        assertFalse(graph.addVertex(10));
+        assertFalse(graph.addEdge(1, 2));
+        assertTrue(graph.addEdge(4, 1));
+        assertEquals(6, graph.vertexCount());
+        assertEquals(6, graph.edgeCount());
+        assertEquals(new HashSet<>(Arrays.asList(2, 5)), graph.obtainAdjacents(1));
+        assertEquals(Collections.emptySet(), graph.obtainAdjacents(10));
+        assertEquals(2, graph.outDegree(1));
+        List<Integer> seen = new ArrayList<>();
+        graph.forEachAdjacent(3, seen::add);
+        assertEquals(Collections.singletonList(4), seen);
+    }
+
+    @Test(expected = Exception.class)
+    public void testObtainAdjacents_MissingVertex_ThrowsException() throws Exception {
+        graph.obtainAdjacents(99);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutDegree_MissingVertex_ThrowsIllegalArgumentException() {
+        graph.outDegree(99);
+    }
+
+    @Test
+    public void testShortestPath() {
+        assertEquals(Arrays.asList(1, 5, 4), graph.shortestPath(1, 4));
+        assertEquals(Collections.singletonList(3), graph.shortestPath(3, 3));
+        assertNull(graph.shortestPath(1, 10));
+        assertNull(graph.shortestPath(99, 1));
+    }
+
+    @Test
+    public void testShortestPathBidirectional() {
+        assertEquals(Arrays.asList(1, 5, 4), graph.shortestPathBidirectional(1, 4));
+        assertEquals(Arrays.asList(2, 3, 4), graph.shortestPathBidirectional(2, 4));
+        assertEquals(Collections.singletonList(3), graph.shortestPathBidirectional(3, 3));
+        assertNull(graph.shortestPathBidirectional(4, 1));
+        assertNull(graph.shortestPathBidirectional(1, 99));
+    }
+
+    @Test
+    public void testSearchBuffers_GrowBetweenQueries() {
+        assertEquals(3, graph.shortestPath(1, 4).size());
+        for (int i = 100; i < 5000; i++) {
+            graph.addEdge(i - 1 == 99 ? 4 : i - 1, i);
+        }
+        assertEquals(Arrays.asList(1, 5, 4, 100, 101), graph.shortestPath(1, 101));
+        assertEquals(4903, graph.shortestPathBidirectional(1, 4999).size());
+        assertNull(graph.shortestPath(4999, 1));
+    }
+
+    @Test
+    public void testNewTraversal_ReadsBlocks() {
+        Traversal<Integer> traversal = graph.newTraversal();
+        List<Integer> order = new ArrayList<>();
+        traversal.bfs(1).forEachRemaining(order::add);
+        assertEquals(5, order.size());
+        assertEquals(Integer.valueOf(1), order.get(0));
+        assertEquals(Integer.valueOf(4), order.get(4));
+        assertEquals(Arrays.asList(1, 5, 4), traversal.shortestPath(1, 4));
+        graph.addEdge(4, 10);
+        order.clear();
+        traversal.dfs(4).forEachRemaining(order::add);
+        assertEquals(Arrays.asList(4, 10), order);
+    }
+
+    @Test
+    public void testMatchesGraph_OnRandomGraphWithSmallSlabs() {
+        // Losas de 4 KB: muchas losas, bloques reciclados y un vértice con bloque propio.
+        OffHeapGraph<Integer> offHeap = new OffHeapGraph<>(4096);
+        Graph<Integer> heap = new Graph<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int v1 = random.nextInt(10) == 0 ? 0 : random.nextInt(2000);
+            int v2 = random.nextInt(2000);
+            assertEquals(heap.addEdge(v1, v2), offHeap.addEdge(v1, v2));
+        }
+        assertEquals(heap.toString(), offHeap.toString());
+        assertEquals(heap.outDegree(0), offHeap.outDegree(0));
+        for (int i = 0; i < 200; i++) {
+            int v1 = random.nextInt(2000);
+            int v2 = random.nextInt(2000);
+            List<Integer> expected = heap.shortestPath(v1, v2);
+            List<Integer> actual = offHeap.shortestPath(v1, v2);
+            assertEquals(expected == null, actual == null);
+            if (expected != null) {
+                assertEquals(expected.size(), actual.size());
+                assertEquals(expected.size(), offHeap.shortestPathBidirectional(v1, v2).size());
+            } else {
+                assertNull(offHeap.shortestPathBidirectional(v1, v2));
+            }
+        }
+        FrozenGraph<Integer> frozen = offHeap.freeze();
+        assertEquals(heap.freeze().edgeCount(), frozen.edgeCount());
+        assertEquals(offHeap.shortestPath(3, 17).size(), frozen.shortestPath(3, 17).size());
+    }
+
+    @Test
+    public void testFootprint() {
+        OffHeapGraph<Integer> offHeap = new OffHeapGraph<>(4096);
+        for (int i = 0; i < 5000; i++) {
+            offHeap.addEdge(i, (i + 1) % 5000);
+        }
+        assertTrue(offHeap.usedOffHeapBytes() > 5000 * 16);
+        assertTrue(offHeap.usedOffHeapBytes() <= offHeap.offHeapBytes());
+        assertTrue(offHeap.footprint().startsWith("5000 vertices, 5000 edges, off-heap"));
+    }
+}
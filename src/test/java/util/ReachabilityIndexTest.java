@@ -0,0 +1,97 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class ReachabilityIndexTest {
+
+    @Test
+    public void testComponentsAndReachability_SmallGraph() {
+        Graph<String> graph = new Graph<>();
+        // Componentes {A, B, C} -> {D, E} -> {F}, y G aislado.
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+        graph.addEdge("C", "D");
+        graph.addEdge("D", "E");
+        graph.addEdge("E", "D");
+        graph.addEdge("E", "F");
+        graph.addEdge("A", "F");
+        graph.addVertex("G");
+        ReachabilityIndex<String> index = ReachabilityIndex.build(graph);
+        assertEquals(4, index.componentCount());
+        assertEquals(3, index.dagEdgeCount());
+        assertTrue(index.sameComponent("A", "C"));
+        assertFalse(index.sameComponent("A", "D"));
+        assertTrue(index.isReachable("B", "F"));
+        assertTrue(index.isReachable("A", "A"));
+        assertFalse(index.isReachable("F", "A"));
+        assertFalse(index.isReachable("D", "C"));
+        assertFalse(index.isReachable("A", "G"));
+        assertFalse(index.isReachable("A", "Z"));
+    }
+
+    @Test
+    public void testIsReachable_RandomGraphs_MatchesBfs() {
+        Random random = new Random(17);
+        for (int round = 0; round < 6; round++) {
+            int n = 150;
+            Graph<Integer> graph = new Graph<>();
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(i);
+            }
+            int m = 60 + round * 40; // De casi acíclico a una gran componente
+            for (int i = 0; i < m; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+            ReachabilityIndex<Integer> index = ReachabilityIndex.build(graph);
+            for (int s = 0; s < n; s++) {
+                BFSTree<Integer> tree = graph.bfsDistances(s);
+                for (int t = 0; t < n; t++) {
+                    assertEquals(tree.isReachable(t), index.isReachable(s, t));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBuild_LongChainAndCycle_NoStackOverflow() {
+        Graph<Integer> graph = new Graph<>();
+        int n = 200000;
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        ReachabilityIndex<Integer> chain = ReachabilityIndex.build(graph);
+        assertEquals(n, chain.componentCount());
+        assertTrue(chain.isReachable(0, n - 1));
+        assertFalse(chain.isReachable(n - 1, 0));
+
+        graph.addEdge(n - 1, 0);
+        ReachabilityIndex<Integer> cycle = ReachabilityIndex.build(graph);
+        assertEquals(1, cycle.componentCount());
+        assertTrue(cycle.isReachable(n - 1, 0));
+    }
+
+    @Test
+    public void testIsReachableWithin_StopsAtBudget() {
+        Graph<Integer> graph = new Graph<>();
+        int n = 1000;
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        ReachabilityIndex<Integer> index = ReachabilityIndex.build(graph);
+        assertTrue(index.isReachableWithin(0, 10, 64));
+        assertFalse(index.isReachableWithin(0, n - 1, 64)); // Existe, pero queda fuera del presupuesto
+        assertTrue(index.isReachableWithin(0, n - 1, n));
+        assertFalse(index.isReachableWithin(n - 1, 0, n));
+        assertFalse(index.isReachableWithin(0, -1, n));
+
+        // addEdge sólo conserva el índice si decide a tiempo; en cualquier caso las respuestas siguen siendo exactas
+        assertTrue(graph.isReachable(0, n - 1));
+        graph.addEdge(0, n - 1);
+        assertTrue(graph.isReachable(0, n - 1));
+        assertFalse(graph.isReachable(n - 1, 0));
+    }
+}
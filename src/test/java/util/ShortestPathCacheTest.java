@@ -0,0 +1,123 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class ShortestPathCacheTest {
+
+    private static Graph<Integer> sampleGraph() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 5);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(5, 4);
+        g.addVertex(10);
+        return g;
+    }
+
+    private static Map.Entry<Integer, Integer> pair(int v1, int v2) {
+        return new SimpleEntry<>(v1, v2);
+    }
+
+    @Test
+    public void testShortestPaths_Batch_MatchesShortestPath() {
+        Graph<Integer> g = sampleGraph();
+        List<Map.Entry<Integer, Integer>> pairs = Arrays.asList(
+                pair(1, 4), pair(3, 3), pair(1, 10), pair(99, 1), pair(1, 88), pair(1, 3), pair(2, 4));
+        List<List<Integer>> paths = g.shortestPaths(pairs);
+        assertEquals(pairs.size(), paths.size());
+        for (int i = 0; i < pairs.size(); i++) {
+            assertEquals(g.shortestPath(pairs.get(i).getKey(), pairs.get(i).getValue()), paths.get(i));
+        }
+        assertEquals(Arrays.asList(1, 5, 4), paths.get(0));
+        assertNull(paths.get(2));
+    }
+
+    @Test
+    public void testShortestPaths_EmptyBatch() {
+        assertTrue(sampleGraph().shortestPaths(new ArrayList<Map.Entry<Integer, Integer>>()).isEmpty());
+    }
+
+    @Test
+    public void testShortestPaths_RandomGraph_MatchesShortestPath() {
+        Random random = new Random(11);
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 400; i++) {
+            g.addEdge(random.nextInt(150), random.nextInt(150));
+        }
+        List<Map.Entry<Integer, Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            pairs.add(pair(random.nextInt(10), random.nextInt(160)));
+        }
+        List<List<Integer>> paths = g.shortestPaths(pairs);
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(g, 4);
+        List<List<Integer>> cached = cache.shortestPaths(pairs);
+        for (int i = 0; i < pairs.size(); i++) {
+            List<Integer> expected = g.shortestPath(pairs.get(i).getKey(), pairs.get(i).getValue());
+            assertEquals(expected, paths.get(i));
+            assertEquals(expected, cached.get(i));
+        }
+    }
+
+    @Test
+    public void testCache_HitsAfterFirstQueryFromSameSource() {
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(sampleGraph(), 2);
+        assertEquals(Arrays.asList(1, 5, 4), cache.shortestPath(1, 4));
+        assertEquals(Arrays.asList(1, 2, 3), cache.shortestPath(1, 3));
+        assertEquals(Arrays.asList(1), cache.shortestPath(1, 1));
+        assertNull(cache.shortestPath(1, 10));
+        assertEquals(1, cache.misses());
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCache_MissingVertices_ReturnNullWithoutSearching() {
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(sampleGraph(), 2);
+        assertNull(cache.shortestPath(99, 1));
+        assertNull(cache.shortestPath(1, 88));
+        assertEquals(0, cache.misses());
+    }
+
+    @Test
+    public void testCache_EvictsLeastRecentlyUsedSource() {
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(sampleGraph(), 2);
+        cache.shortestPath(1, 4);
+        cache.shortestPath(2, 4);
+        cache.shortestPath(1, 4); // 1 pasa a ser el más reciente
+        cache.shortestPath(3, 4); // Expulsa a 2
+        assertEquals(2, cache.size());
+        cache.shortestPath(1, 4);
+        assertEquals(3, cache.misses());
+        cache.shortestPath(2, 4);
+        assertEquals(4, cache.misses());
+    }
+
+    @Test
+    public void testCache_IsInvalidatedWhenGraphChanges() {
+        Graph<Integer> g = sampleGraph();
+        ShortestPathCache<Integer> cache = new ShortestPathCache<>(g, 2);
+        assertNull(cache.shortestPath(1, 10));
+        g.addEdge(4, 10);
+        assertEquals(Arrays.asList(1, 5, 4, 10), cache.shortestPath(1, 10));
+        g.addEdge(1, 10);
+        assertEquals(Arrays.asList(1, 10), cache.shortestPath(1, 10));
+        assertEquals(3, cache.misses());
+        g.addEdge(1, 10); // Arco existente: el grafo no cambia
+        cache.shortestPath(1, 10);
+        assertEquals(3, cache.misses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCache_NonPositiveCapacity_Throws() {
+        new ShortestPathCache<>(sampleGraph(), 0);
+    }
+}
@@ -0,0 +1,138 @@
+package util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TraversalTest {
+
+    //Árbol 1 -> {2, 3}, 2 -> {4}, 3 -> {4}, 4 -> {1}: cada vértice se visita una sola vez.
+    private static Graph<Integer> sampleGraph() {
+        Graph<Integer> g = new Graph<>();
+        g.addEdge(1, 2);
+        g.addEdge(1, 3);
+        g.addEdge(2, 4);
+        g.addEdge(3, 4);
+        g.addEdge(4, 1);
+        g.addVertex(5);
+        return g;
+    }
+
+    private static List<Integer> drain(Iterator<Integer> iterator) {
+        List<Integer> result = new ArrayList<>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Test
+    public void testBfs_VisitsByLevels() {
+        Traversal<Integer> traversal = sampleGraph().newTraversal();
+        List<Integer> order = drain(traversal.bfs(1));
+        assertEquals(4, order.size());
+        assertEquals(Integer.valueOf(1), order.get(0));
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), new HashSet<>(order.subList(1, 3)));
+        assertEquals(Integer.valueOf(4), order.get(3));
+        assertEquals(4, traversal.visitedCount());
+        assertNull(traversal.predecessor(1));
+        assertFalse(traversal.isVisited(5));
+    }
+
+    @Test
+    public void testDfs_VisitsEachReachableVertexOnceInPreorder() {
+        Traversal<Integer> traversal = sampleGraph().newTraversal();
+        List<Integer> order = drain(traversal.dfs(1));
+        assertEquals(4, order.size());
+        assertEquals(Integer.valueOf(1), order.get(0));
+        // En preorden, 4 va justo después de su padre en el árbol DFS.
+        int parentOf4 = traversal.predecessor(4);
+        assertEquals(order.indexOf(parentOf4) + 1, order.indexOf(4));
+        assertEquals(Integer.valueOf(1), traversal.predecessor(parentOf4));
+    }
+
+    @Test
+    public void testContextCanBeReused() {
+        Traversal<Integer> traversal = sampleGraph().newTraversal();
+        drain(traversal.bfs(1));
+        assertEquals(Arrays.asList(5), drain(traversal.bfs(5)));
+        assertEquals(1, traversal.visitedCount());
+        assertEquals(Arrays.asList(4, 1, 2), traversal.shortestPath(4, 2));
+        assertEquals(4, drain(traversal.dfs(2)).size());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNext_AfterEnd_Throws() {
+        Iterator<Integer> iterator = sampleGraph().newTraversal().bfs(5);
+        iterator.next();
+        iterator.next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBfs_NonExistingVertex_Throws() {
+        sampleGraph().newTraversal().bfs(99);
+    }
+
+    @Test
+    public void testShortestPath_MatchesGraph() {
+        Random random = new Random(21);
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 500; i++) {
+            g.addEdge(random.nextInt(200), random.nextInt(200));
+        }
+        Traversal<Integer> traversal = g.newTraversal();
+        for (int i = 0; i < 300; i++) {
+            int v1 = random.nextInt(210);
+            int v2 = random.nextInt(210);
+            assertEquals(g.shortestPath(v1, v2), traversal.shortestPath(v1, v2));
+        }
+    }
+
+    @Test
+    public void testContextReusedAfterLargeTraversal() {
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 10000; i++) {
+            g.addEdge(i, i + 1);
+        }
+        g.addEdge(-1, -2);
+        Traversal<Integer> traversal = g.newTraversal();
+        assertEquals(10001, drain(traversal.bfs(0)).size());
+        for (int i = 0; i < 3; i++) {
+            // Los recorridos pequeños no arrastran visitas del grande.
+            assertEquals(Arrays.asList(-1, -2), traversal.shortestPath(-1, -2));
+            assertEquals(2, traversal.visitedCount());
+            assertFalse(traversal.isVisited(0));
+        }
+        assertEquals(10001, drain(traversal.dfs(0)).size());
+        assertEquals(Arrays.asList(9999, 10000), traversal.shortestPath(9999, 10000));
+    }
+
+    @Test
+    public void testContextReusedAcrossRemovalsAndNewVertices() {
+        Graph<Integer> g = new Graph<>();
+        for (int i = 0; i < 300; i++) {
+            g.addEdge(i, i + 1);
+        }
+        Traversal<Integer> traversal = g.newTraversal();
+        assertEquals(301, drain(traversal.bfs(0)).size());
+        for (int i = 10; i <= 300; i++) {
+            g.removeVertex(i);
+        }
+        for (int i = 1000; i < 1100; i++) {
+            g.addEdge(9, i);
+        }
+        // Los identificadores de los vértices eliminados se descartan y los nuevos se asignan.
+        assertEquals(110, drain(traversal.bfs(0)).size());
+        assertEquals(Integer.valueOf(9), traversal.predecessor(1050));
+        assertFalse(traversal.isVisited(200));
+        assertEquals(g.shortestPath(0, 1099), traversal.shortestPath(0, 1099));
+        assertEquals(110, traversal.visitedCount());
+    }
+}
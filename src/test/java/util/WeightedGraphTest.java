@@ -0,0 +1,141 @@
+package util;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class WeightedGraphTest {
+
+    private WeightedGraph<String> graph;
+
+    @Before
+    public void setUp() {
+        graph = new WeightedGraph<>();
+        // El camino directo A->D tiene menos arcos pero más peso que A->B->C->D.
+        graph.addEdge("A", "D", 10.0);
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("C", "D", 3.0);
+        graph.addEdge("B", "D", 8.0);
+        graph.addVertex("E");
+    }
+
+    @Test
+    public void testAddEdge_ExistingEdge_UpdatesWeight() throws Exception {
+        assertFalse(graph.addEdge("A", "B", 4.0));
+        assertEquals(4.0, graph.weight("A", "B"), 0.0);
+        assertEquals(new HashSet<>(Arrays.asList("B", "D")), graph.obtainAdjacents("A"));
+        assertTrue(Double.isNaN(graph.weight("B", "A")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdge_NegativeWeight_ThrowsIllegalArgumentException() {
+        graph.addEdge("A", "E", -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdge_NaNWeight_ThrowsIllegalArgumentException() {
+        graph.addEdge("A", "E", Double.NaN);
+    }
+
+    @Test(expected = Exception.class)
+    public void testObtainAdjacents_NonExistingVertex_ThrowsException() throws Exception {
+        graph.obtainAdjacents("Z");
+    }
+
+    @Test
+    public void testShortestPath_IgnoresWeights() {
+        assertEquals(Arrays.asList("A", "D"), graph.shortestPath("A", "D"));
+    }
+
+    @Test
+    public void testShortestWeightedPath_PrefersLighterPath() {
+        List<String> path = graph.shortestWeightedPath("A", "D");
+        assertEquals(Arrays.asList("A", "B", "C", "D"), path);
+        assertEquals(6.0, graph.pathWeight(path), 0.0);
+    }
+
+    @Test
+    public void testShortestWeightedPath_SameVertex() {
+        assertEquals(Arrays.asList("A"), graph.shortestWeightedPath("A", "A"));
+    }
+
+    @Test
+    public void testShortestWeightedPath_NoPathOrMissingVertex_ReturnsNull() {
+        assertNull(graph.shortestWeightedPath("A", "E"));
+        assertNull(graph.shortestWeightedPath("D", "A"));
+        assertNull(graph.shortestWeightedPath("A", "Z"));
+        assertNull(graph.shortestWeightedPath("A", "E", v -> 0));
+    }
+
+    @Test
+    public void testShortestWeightedPath_AStarOnGrid_MatchesDijkstra() {
+        int side = 30;
+        WeightedGraph<Integer> grid = new WeightedGraph<>();
+        Random random = new Random(11);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int v = row * side + col;
+                if (col + 1 < side) {
+                    grid.addEdge(v, v + 1, 1 + random.nextInt(9));
+                    grid.addEdge(v + 1, v, 1 + random.nextInt(9));
+                }
+                if (row + 1 < side) {
+                    grid.addEdge(v, v + side, 1 + random.nextInt(9));
+                    grid.addEdge(v + side, v, 1 + random.nextInt(9));
+                }
+            }
+        }
+        int target = side * side - 1;
+        // Distancia Manhattan por el peso mínimo: admisible.
+        List<Integer> astar = grid.shortestWeightedPath(0, target,
+                v -> Math.abs(v / side - target / side) + Math.abs(v % side - target % side));
+        List<Integer> dijkstra = grid.shortestWeightedPath(0, target);
+        assertEquals(grid.pathWeight(dijkstra), grid.pathWeight(astar), 0.0);
+        assertEquals(Integer.valueOf(0), astar.get(0));
+        assertEquals(Integer.valueOf(target), astar.get(astar.size() - 1));
+    }
+
+    @Test
+    public void testShortestWeightedPath_RandomGraph_MatchesBellmanFord() {
+        Random random = new Random(3);
+        int n = 200;
+        int m = 1000;
+        WeightedGraph<Integer> weighted = new WeightedGraph<>();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+            weighted.addEdge(sources[i], targets[i], random.nextDouble() * 100);
+        }
+        for (int i = 0; i < n; i++) {
+            weighted.addVertex(i);
+        }
+        // Referencia: Bellman-Ford desde el vértice 0.
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[0] = 0;
+        for (int round = 0; round < n; round++) {
+            for (int i = 0; i < m; i++) {
+                double candidate = distance[sources[i]] + weighted.weight(sources[i], targets[i]);
+                if (candidate < distance[targets[i]]) {
+                    distance[targets[i]] = candidate;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            List<Integer> path = weighted.shortestWeightedPath(0, v);
+            if (Double.isInfinite(distance[v])) {
+                assertNull(path);
+            } else {
+                assertEquals(distance[v], weighted.pathWeight(path), 1e-9);
+            }
+        }
+    }
+}